@@ -0,0 +1,71 @@
+// k6 load test: core endpoints must keep their latency while the AI provider is degraded.
+//
+// Start the backend with AI enabled but pointing at an endpoint that never answers, so every LLM call
+// runs into app.ai.timeout-seconds, e.g. (10.255.255.1 is unroutable):
+//   APP_AI_ENABLED=true OPENAI_API_KEY=dummy OPENAI_API_URL=http://10.255.255.1/v1/chat/completions \
+//     mvn spring-boot:run
+// then run:
+//   k6 run backend/benchmarks/ai-degraded.js
+//   k6 run -e BASE_URL=http://localhost:9001 -e AI_RATE=100 backend/benchmarks/ai-degraded.js
+//
+// Before the AI bulkhead, the "ai" scenario pinned Tomcat workers for the full timeout and the "core"
+// scenario's p99 grew with them. Now AI calls queue on their own executor, the circuit opens after a few
+// timeouts, and the thresholds below hold. Compare with APP_AI_ENABLED=false for the baseline p99.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:9000';
+const AI_RATE = Number(__ENV.AI_RATE || 50);
+const CORE_RATE = Number(__ENV.CORE_RATE || 100);
+
+export const options = {
+  scenarios: {
+    ai: {
+      executor: 'constant-arrival-rate',
+      exec: 'ai',
+      rate: AI_RATE,
+      timeUnit: '1s',
+      duration: '2m',
+      preAllocatedVUs: 50,
+      maxVUs: 500,
+    },
+    core: {
+      executor: 'constant-arrival-rate',
+      exec: 'core',
+      rate: CORE_RATE,
+      timeUnit: '1s',
+      duration: '2m',
+      preAllocatedVUs: 20,
+      maxVUs: 200,
+    },
+  },
+  thresholds: {
+    'http_req_duration{scenario:core}': ['p(99)<250'],
+    'http_req_failed{scenario:core}': ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const res = http.post(`${BASE_URL}/api/auth/login`,
+    JSON.stringify({ identifier: 'staff', password: 'staff123' }),
+    { headers: { 'Content-Type': 'application/json' } });
+  check(res, { 'logged in': (r) => r.status === 200 });
+  return { token: res.json('token') };
+}
+
+function headers(data) {
+  return { headers: { Authorization: `Bearer ${data.token}`, 'Content-Type': 'application/json' } };
+}
+
+export function ai(data) {
+  const res = http.post(`${BASE_URL}/api/ai/suggest`,
+    JSON.stringify({ description: `Solicitud de homologación ${__VU}-${__ITER}` }), headers(data));
+  check(res, { 'ai answered (suggestion or fallback)': (r) => r.status === 200 });
+}
+
+export function core(data) {
+  const res = __ITER % 2 === 0
+    ? http.get(`${BASE_URL}/api/requests/page?size=20`, headers(data))
+    : http.get(`${BASE_URL}/api/states`, headers(data));
+  check(res, { 'core ok': (r) => r.status === 200 });
+}
@@ -0,0 +1,90 @@
+-- Compares MariaDB plans for the request listing filters (RF-07):
+--   OLD: catch-all "(:x IS NULL OR col = :x)" query previously used by RequestRepository.findByFilters
+--   NEW: query emitted by RequestSpecifications, which only contains the supplied predicates
+--
+-- Run against a database where the backend has already created the schema (ddl-auto update) and reference
+-- data exists (--init-data), e.g. with the docker-compose MariaDB:
+--   mariadb -h 127.0.0.1 -P 3307 -u avanzada -pavanzada avanzada < backend/benchmarks/request-filter-plans.sql
+-- Seeding uses the built-in SEQUENCE engine (seq_1_to_1000000). Seeded rows are marked with the description
+-- prefix 'bench-' and removed by the cleanup at the end.
+
+-- Reference ids are assumed contiguous (as created by DataInitializer); rows are spread with MIN(id) + offset.
+SET @state_min   = (SELECT MIN(id) FROM state),        @states   = (SELECT COUNT(*) FROM state);
+SET @type_min    = (SELECT MIN(id) FROM request_type), @types    = (SELECT COUNT(*) FROM request_type);
+SET @channel_min = (SELECT MIN(id) FROM channel),      @channels = (SELECT COUNT(*) FROM channel);
+SET @user_min    = (SELECT MIN(id) FROM app_user),     @users    = (SELECT COUNT(*) FROM app_user);
+SET @base_id     = (SELECT COALESCE(MAX(id), 0) FROM request);
+
+-- Seed 1M requests spread over states, types, priorities, requesters and assignees.
+INSERT INTO request (id, description, registered_at, request_type_id, channel_id, state_id, priority,
+                     requested_by_id, assigned_to_id, created_at, updated_at)
+SELECT @base_id + s.seq,
+       CONCAT('bench-', s.seq),
+       NOW(6) - INTERVAL (s.seq MOD 525600) MINUTE,
+       @type_min + (s.seq MOD @types),
+       @channel_min + (s.seq MOD @channels),
+       @state_min + (s.seq MOD @states),
+       ELT(1 + (s.seq MOD 3), 'LOW', 'MEDIUM', 'HIGH'),
+       @user_min + (s.seq MOD @users),
+       IF(s.seq MOD 4 = 0, NULL, @user_min + ((s.seq DIV 7) MOD @users)),
+       NOW(6), NOW(6)
+FROM seq_1_to_1000000 s;
+
+ANALYZE TABLE request;
+
+SET @state_id    = (SELECT id FROM state WHERE code = 'EN_ATENCION');
+SET @assignee_id = (SELECT id FROM app_user WHERE identifier = 'staff');
+SET @type_id     = (SELECT id FROM request_type WHERE code = 'CUPOS');
+
+-- 1) Filter by state (dashboard tab)
+ANALYZE FORMAT=JSON
+SELECT r.* FROM request r
+WHERE (@state_id IS NULL OR r.state_id = @state_id)
+  AND (NULL IS NULL OR r.request_type_id = NULL)
+  AND (NULL IS NULL OR r.priority = NULL)
+  AND (NULL IS NULL OR r.assigned_to_id = NULL)
+  AND (NULL IS NULL OR r.requested_by_id = NULL)
+ORDER BY r.registered_at DESC, r.id DESC LIMIT 51;
+
+ANALYZE FORMAT=JSON
+SELECT r.* FROM request r
+WHERE r.state_id = @state_id
+ORDER BY r.registered_at DESC, r.id DESC LIMIT 51;
+
+-- 2) Staff work queue: assignee + state
+ANALYZE FORMAT=JSON
+SELECT r.* FROM request r
+WHERE (@state_id IS NULL OR r.state_id = @state_id)
+  AND (NULL IS NULL OR r.request_type_id = NULL)
+  AND (NULL IS NULL OR r.priority = NULL)
+  AND (@assignee_id IS NULL OR r.assigned_to_id = @assignee_id)
+  AND (NULL IS NULL OR r.requested_by_id = NULL)
+ORDER BY r.registered_at DESC, r.id DESC;
+
+ANALYZE FORMAT=JSON
+SELECT r.* FROM request r
+WHERE r.state_id = @state_id AND r.assigned_to_id = @assignee_id
+ORDER BY r.registered_at DESC, r.id DESC;
+
+-- 3) Type + priority
+ANALYZE FORMAT=JSON
+SELECT r.* FROM request r
+WHERE (NULL IS NULL OR r.state_id = NULL)
+  AND (@type_id IS NULL OR r.request_type_id = @type_id)
+  AND ('HIGH' IS NULL OR r.priority = 'HIGH')
+  AND (NULL IS NULL OR r.assigned_to_id = NULL)
+  AND (NULL IS NULL OR r.requested_by_id = NULL)
+ORDER BY r.registered_at DESC, r.id DESC LIMIT 51;
+
+ANALYZE FORMAT=JSON
+SELECT r.* FROM request r
+WHERE r.request_type_id = @type_id AND r.priority = 'HIGH'
+ORDER BY r.registered_at DESC, r.id DESC LIMIT 51;
+
+-- 4) Unfiltered first page (staff dashboard)
+ANALYZE FORMAT=JSON
+SELECT r.* FROM request r
+ORDER BY r.registered_at DESC, r.id DESC LIMIT 51;
+
+-- Cleanup
+DELETE FROM request WHERE id > @base_id AND description LIKE 'bench-%';
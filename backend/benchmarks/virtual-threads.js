@@ -0,0 +1,88 @@
+// k6 load test comparing platform threads with the virtual-threads profile over the request
+// list/create/transition endpoints. Run the same script against each mode and compare the summaries:
+//
+//   mvn spring-boot:run -Dspring-boot.run.profiles=docker
+//   k6 run --summary-export=platform.json backend/benchmarks/virtual-threads.js
+//
+//   mvn spring-boot:run -Dspring-boot.run.profiles=docker,virtual-threads
+//   k6 run --summary-export=virtual.json backend/benchmarks/virtual-threads.js
+//
+// Reference data and users must exist (--init-data). Every created request is tagged "bench-vt" in its
+// description. Knobs: -e BASE_URL=... -e PEAK_RATE=400 (iterations/s per scenario at the peak).
+// With virtual threads look at http_req_duration p95/p99 and the 503 rate (ConcurrencyLimitFilter
+// shedding load) rather than only throughput: both modes share the same 5-connection Hikari pool.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:9000';
+const PEAK_RATE = Number(__ENV.PEAK_RATE || 200);
+
+function ramping(exec) {
+  return {
+    executor: 'ramping-arrival-rate',
+    exec,
+    startRate: 10,
+    timeUnit: '1s',
+    preAllocatedVUs: 50,
+    maxVUs: 1000,
+    stages: [
+      { target: PEAK_RATE, duration: '1m' },
+      { target: PEAK_RATE, duration: '2m' },
+      { target: 0, duration: '30s' },
+    ],
+  };
+}
+
+export const options = {
+  scenarios: {
+    list: ramping('list'),
+    create: ramping('create'),
+    transition: ramping('transition'),
+  },
+  summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const login = http.post(`${BASE_URL}/api/auth/login`,
+    JSON.stringify({ identifier: 'admin', password: 'admin123' }),
+    { headers: { 'Content-Type': 'application/json' } });
+  check(login, { 'logged in': (r) => r.status === 200 });
+  const params = { headers: { Authorization: `Bearer ${login.json('token')}`, 'Content-Type': 'application/json' } };
+  return {
+    params,
+    userId: login.json('user.id'),
+    requestTypeId: http.get(`${BASE_URL}/api/request-types`, params).json('0.id'),
+    channelId: http.get(`${BASE_URL}/api/channels`, params).json('0.id'),
+  };
+}
+
+function createRequest(data) {
+  return http.post(`${BASE_URL}/api/requests`, JSON.stringify({
+    description: `bench-vt ${__VU}-${__ITER}`,
+    requestTypeId: data.requestTypeId,
+    channelId: data.channelId,
+  }), Object.assign({ tags: { name: 'create' } }, data.params));
+}
+
+export function list(data) {
+  const res = http.get(`${BASE_URL}/api/requests/page?size=20`, Object.assign({ tags: { name: 'list' } }, data.params));
+  check(res, { 'list 200': (r) => r.status === 200 });
+}
+
+export function create(data) {
+  check(createRequest(data), { 'create 201': (r) => r.status === 201 });
+}
+
+export function transition(data) {
+  const created = createRequest(data);
+  if (!check(created, { 'create 201': (r) => r.status === 201 })) return;
+  const id = created.json('id');
+  const classify = http.post(`${BASE_URL}/api/requests/${id}/classify`,
+    JSON.stringify({ requestTypeId: data.requestTypeId, priority: 'MEDIUM', priorityJustification: 'bench' }),
+    Object.assign({ tags: { name: 'classify' } }, data.params));
+  check(classify, { 'classify 200': (r) => r.status === 200 });
+  const assign = http.post(`${BASE_URL}/api/requests/${id}/assign`,
+    JSON.stringify({ assignedToId: data.userId }),
+    Object.assign({ tags: { name: 'assign' } }, data.params));
+  check(assign, { 'assign 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,54 @@
+package com.avanzada.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Shared, connection-pooled HTTP client for the optional IA integration, so consecutive LLM calls reuse
+ * kept-alive TCP/TLS connections instead of paying a new handshake each time.
+ */
+@Configuration
+public class AiHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient aiHttpClient(AiProperties aiProperties) {
+        Timeout timeout = Timeout.ofSeconds(aiProperties.getTimeoutSeconds());
+        TimeValue keepAlive = TimeValue.ofSeconds(aiProperties.getKeepAliveSeconds());
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(aiProperties.getMaxConnections())
+                .setMaxConnPerRoute(aiProperties.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout)
+                        .setSocketTimeout(timeout)
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // waiting for a free pooled connection counts against the same budget as the call itself
+                        .setConnectionRequestTimeout(timeout)
+                        .setResponseTimeout(timeout)
+                        // used when the server does not send a Keep-Alive header
+                        .setConnectionKeepAlive(keepAlive)
+                        .build())
+                .evictIdleConnections(keepAlive)
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate aiRestTemplate(CloseableHttpClient aiHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(aiHttpClient));
+    }
+}
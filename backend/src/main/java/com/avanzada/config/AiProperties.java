@@ -14,6 +14,22 @@ public class AiProperties {
     private String endpoint = "https://api.openai.com/v1/chat/completions";
     private String model = "gpt-3.5-turbo";
     private int timeoutSeconds = 10;
+    /** Upper bound of pooled connections to the LLM endpoint (shared by all AI calls). */
+    private int maxConnections = 20;
+    /** How long an idle pooled connection is kept for reuse when the server does not send Keep-Alive. */
+    private int keepAliveSeconds = 60;
+    /** Maximum number of cached suggestions (keyed by normalized description). */
+    private long suggestionCacheSize = 10_000;
+    /** How long a cached suggestion is served before asking the LLM again. */
+    private long suggestionCacheTtlMinutes = 60;
+    /** Threads dedicated to LLM calls (bulkhead); also the limit of concurrent calls to the provider. */
+    private int maxConcurrentCalls = 8;
+    /** AI tasks allowed to wait for a free AI thread; beyond that the caller gets the fallback right away. */
+    private int queueCapacity = 32;
+    /** Consecutive failed LLM calls that open the circuit breaker. */
+    private int circuitFailureThreshold = 5;
+    /** How long the open circuit serves fallbacks before a single trial call is let through. */
+    private int circuitOpenSeconds = 30;
 
     public boolean isConfigured() {
         return enabled && apiKey != null && !apiKey.isBlank() && endpoint != null && !endpoint.isBlank();
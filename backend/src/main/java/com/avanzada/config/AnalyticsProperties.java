@@ -0,0 +1,31 @@
+package com.avanzada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * SLA and aging analytics computed from the request history (see {@code SlaAnalytics}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.analytics")
+public class AnalyticsProperties {
+
+    /** Open requests registered longer ago than this are reported as overdue. */
+    private long overdueAfterHours = 72;
+
+    /** A report older than this is brought up to date (new history rows only) when requested. */
+    private long refreshSeconds = 60;
+
+    /**
+     * History ids below the last one read that each refresh reads again. Ids come from a pooled sequence and are
+     * assigned before commit, so a long transaction (a bulk transition of up to 5000 requests) can commit ids
+     * lower than ones already read; the window must cover the ids such transactions hold. Rows committed below it
+     * are reported as {@code historyEntriesMissed}.
+     */
+    private long rescanIds = 20_000;
+
+    /** Rows fetched per round trip while streaming history_entry. */
+    private int fetchSize = 1000;
+}
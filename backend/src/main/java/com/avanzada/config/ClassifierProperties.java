@@ -0,0 +1,28 @@
+package com.avanzada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local request type/priority classifier used before the LLM (see {@code RequestClassifier}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.classifier")
+public class ClassifierProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Both the type and the priority prediction must reach this posterior probability to be answered locally;
+     * below it the suggestion goes to the LLM.
+     */
+    private double minConfidence = 0.9;
+
+    /** Classified requests needed before the model is used at all. */
+    private int minExamples = 200;
+
+    /** Every n-th classified request is held out for evaluation (--train-classifier). */
+    private int holdoutEvery = 5;
+}
@@ -0,0 +1,21 @@
+package com.avanzada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cap on API requests executing at once (see {@code ConcurrencyLimitFilter}). Needed with virtual threads,
+ * where Tomcat no longer bounds concurrency and every request would otherwise wait on the small Hikari pool.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.concurrency")
+public class ConcurrencyProperties {
+
+    /** Maximum API requests running concurrently; 0 disables the limit (platform threads: Tomcat's pool bounds it). */
+    private int maxConcurrentRequests = 0;
+
+    /** How long a request waits for a slot before it is rejected with 503. */
+    private long acquireTimeoutMs = 2000;
+}
@@ -0,0 +1,20 @@
+package com.avanzada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Near-duplicate detection of new requests (see {@code DuplicateDetector}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.duplicates")
+public class DuplicateProperties {
+
+    /** Only earlier requests of the same requester registered at most this many days before are compared. */
+    private int windowDays = 30;
+
+    /** Minimum estimated Jaccard similarity of the description terms to flag a duplicate. */
+    private double threshold = 0.6;
+}
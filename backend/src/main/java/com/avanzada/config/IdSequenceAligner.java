@@ -0,0 +1,84 @@
+package com.avanzada.config;
+
+import com.avanzada.entity.HistoryEntry;
+import com.avanzada.entity.Request;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Moves the pooled id sequences past the existing rows on startup. Needed once for databases whose
+ * {@code request}/{@code history_entry} ids were generated by AUTO_INCREMENT (the sequence is then missing, and
+ * ddl-auto would create it empty) and after rows were inserted with explicit ids, e.g. by
+ * {@code benchmarks/request-filter-plans.sql}. Runs before the EntityManagerFactory is built, so Hibernate only
+ * reserves id blocks from the aligned sequences.
+ */
+@Component
+@Slf4j
+public class IdSequenceAligner implements InitializingBean {
+
+    private static final List<IdSequence> SEQUENCES = List.of(
+            new IdSequence("request", Request.ID_SEQUENCE, Request.ID_ALLOCATION_SIZE),
+            new IdSequence("history_entry", HistoryEntry.ID_SEQUENCE, HistoryEntry.ID_ALLOCATION_SIZE));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    /**
+     * Hibernate's pooled optimizer hands out the ids {@code (next - allocationSize, next]} for a sequence value
+     * {@code next}; restarts the sequence when that block would overlap ids already in the table, and creates it
+     * past them when it does not exist yet. Nothing to do while the table does not exist (new database).
+     */
+    void align(IdSequence sequence) {
+        Long maxId;
+        try {
+            maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + sequence.table(), Long.class);
+        } catch (BadSqlGrammarException e) {
+            return;
+        }
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+        long restart = maxId + sequence.allocationSize();
+        Long next;
+        try {
+            next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence.name(), Long.class);
+        } catch (BadSqlGrammarException e) {
+            jdbcTemplate.execute("CREATE SEQUENCE " + sequence.name() + " START WITH " + restart
+                    + " INCREMENT BY " + sequence.allocationSize());
+            log.info("Sequence {} created past {}.id (max {}) at {}", sequence.name(), sequence.table(), maxId, restart);
+            return;
+        }
+        if (next == null || next - sequence.allocationSize() >= maxId) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence.name() + " RESTART WITH " + restart);
+        log.info("Sequence {} was behind {}.id (max {}); restarted at {}", sequence.name(), sequence.table(), maxId, restart);
+    }
+
+    record IdSequence(String table, String name, int allocationSize) {
+    }
+
+    /** Makes the EntityManagerFactory (and so every repository) wait for the alignment. */
+    @Component
+    static class JpaAfterIdSequenceAligner extends EntityManagerFactoryDependsOnPostProcessor {
+
+        JpaAfterIdSequenceAligner() {
+            super(IdSequenceAligner.class);
+        }
+    }
+}
@@ -14,4 +14,6 @@ public class JwtProperties {
 
     private String secret;
     private long expirationSeconds = 86400;
+    /** Maximum number of verified tokens kept by {@code VerifiedTokenCache}; each entry expires with its token. */
+    private long verifiedTokenCacheSize = 10_000;
 }
@@ -1,8 +1,9 @@
 package com.avanzada.config;
 
 import com.avanzada.entity.User;
+import com.avanzada.security.AppUserDetails;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
@@ -10,40 +11,53 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
     private final JwtProperties properties;
     private final SecretKey key;
+    /** Immutable and thread-safe; built once instead of per request. */
+    private final JwtParser parser;
 
     public JwtUtil(JwtProperties properties) {
         this.properties = properties;
         this.key = Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     public String generateToken(User user) {
+        return generateToken(user.getId(), user.getIdentifier(), user.getRole() != null ? user.getRole() : "STUDENT");
+    }
+
+    /** Token for a principal just authenticated at login, without reloading the user. */
+    public String generateToken(AppUserDetails principal) {
+        return generateToken(principal.userId(), principal.username(), principal.role());
+    }
+
+    private String generateToken(Long userId, String identifier, String role) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + properties.getExpirationSeconds() * 1000L);
         return Jwts.builder()
-                .subject(user.getIdentifier())
-                .claim("userId", user.getId())
-                .claim("role", user.getRole() != null ? user.getRole() : "STUDENT")
+                // jti lets a single token be revoked (logout), see TokenRevocationService
+                .id(UUID.randomUUID().toString())
+                .subject(identifier)
+                .claim("userId", userId)
+                .claim("role", role)
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(key)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry and returns the claims.
+     *
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException        if the token is malformed or the signature does not match
+     */
     public Claims parseToken(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (ExpiredJwtException e) {
-            throw e;
-        }
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -0,0 +1,26 @@
+package com.avanzada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Password hashing (see {@code PasswordEncoders} and {@code PasswordHashingExecutor}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.password")
+public class PasswordProperties {
+
+    /** Encoder for new hashes: bcrypt, pbkdf2 or argon2 (argon2 needs BouncyCastle on the classpath). */
+    private String encoder = "bcrypt";
+
+    /** BCrypt cost factor (log2 rounds). Stored hashes with a lower cost are re-hashed on the next login. */
+    private int bcryptStrength = 10;
+
+    /** Threads that verify passwords on login; 0 means one per available processor. */
+    private int hashingThreads = 0;
+
+    /** Logins allowed to wait for a hashing thread; beyond that login answers 429. */
+    private int hashingQueueCapacity = 100;
+}
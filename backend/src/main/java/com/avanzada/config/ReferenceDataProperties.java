@@ -0,0 +1,20 @@
+package com.avanzada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory cache of states, channels and request types (see {@code ReferenceDataCache}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.reference-data")
+public class ReferenceDataProperties {
+
+    /** Reload from the database after this many seconds, to pick up rows written by other processes (e.g. --init-data). */
+    private long ttlSeconds = 300;
+
+    /** Cache-Control max-age sent to clients for the reference-data endpoints. */
+    private long httpMaxAgeSeconds = 300;
+}
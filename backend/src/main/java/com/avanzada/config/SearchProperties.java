@@ -0,0 +1,23 @@
+package com.avanzada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Full-text request search (see {@code RequestSearch}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    /**
+     * File the index is saved to on shutdown and loaded from on startup, so only rows added since are indexed
+     * instead of rebuilding from the database. Blank disables persistence.
+     */
+    private String segmentFile = "";
+
+    /** Rows fetched per round trip while reading requests and history. */
+    private int fetchSize = 1000;
+}
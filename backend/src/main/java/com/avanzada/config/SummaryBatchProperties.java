@@ -0,0 +1,35 @@
+package com.avanzada.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background summarization of closed requests (see {@code SummaryBatchJob}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.summary-batch")
+public class SummaryBatchProperties {
+
+    /** Runs only when the LLM is configured as well ({@code app.ai}). */
+    private boolean enabled = false;
+
+    /** Delay between the end of one run and the start of the next. */
+    private int intervalSeconds = 300;
+
+    /** Closed requests read and summarized together. */
+    private int chunkSize = 50;
+
+    /** Requests packed into one LLM call; 1 sends one prompt per request. */
+    private int requestsPerCall = 5;
+
+    /** LLM calls of one chunk running at the same time. */
+    private int maxConcurrentCalls = 2;
+
+    /** Attempts per LLM call before the run stops and leaves the rest for the next run. */
+    private int maxAttempts = 3;
+
+    /** Wait before the first retry; doubled on each further attempt. */
+    private long backoffMillis = 1000;
+}
@@ -0,0 +1,55 @@
+package com.avanzada.config;
+
+import com.avanzada.service.RequestClassifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * When the application is started with {@code --train-classifier}, trains the local request classifier on the
+ * classified requests minus a hold-out set, logs its accuracy and how many suggestions it would answer without
+ * the LLM, and exits. Use: {@code java -jar backend.jar --train-classifier}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrainClassifierRunner implements ApplicationRunner, Ordered {
+
+    private static final String TRAIN_CLASSIFIER_ARG = "train-classifier";
+
+    private final RequestClassifier classifier;
+    private final ClassifierProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.getOptionNames().contains(TRAIN_CLASSIFIER_ARG)
+                || (!ObjectUtils.isEmpty(args.getNonOptionArgs()) && args.getNonOptionArgs().contains(TRAIN_CLASSIFIER_ARG))) {
+            runEvaluationAndExit();
+        }
+    }
+
+    private void runEvaluationAndExit() {
+        log.info("Training and evaluating the request classifier (--train-classifier)...");
+        RequestClassifier.Evaluation evaluation = classifier.evaluate();
+        log.info("Trained on {} requests, evaluated on {}", evaluation.trainingExamples(), evaluation.testExamples());
+        log.info("Type accuracy {}%, priority accuracy {}%",
+                percent(evaluation.typeAccuracy()), percent(evaluation.priorityAccuracy()));
+        log.info("At min-confidence {}: {}% of suggestions answered locally (LLM calls saved), {}% of those fully correct",
+                properties.getMinConfidence(), percent(evaluation.coverage()), percent(evaluation.confidentAccuracy()));
+        log.info("Exiting after train-classifier.");
+        System.exit(0);
+    }
+
+    private static String percent(double ratio) {
+        return String.format("%.1f", ratio * 100);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -20,6 +20,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Optional IA endpoints (RF-09, RF-10, RF-11). Best-effort; core flows do not depend on these.
  */
@@ -54,6 +56,7 @@ public class AiController {
     /**
      * Suggests request type and priority from description (RF-10).
      * Client must confirm or adjust before applying; suggestions are never auto-applied.
+     * Completes asynchronously so the servlet thread is released while the LLM answers.
      */
     @PostMapping("/ai/suggest")
     @Operation(
@@ -66,8 +69,7 @@ public class AiController {
             @ApiResponse(responseCode = "400", description = "Validation error",
                     content = @Content)
     })
-    public ResponseEntity<SuggestResponseDto> suggest(@Valid @RequestBody SuggestRequestDto dto) {
-        SuggestResponseDto response = aiService.suggestTypeAndPriority(dto.getDescription());
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<SuggestResponseDto>> suggest(@Valid @RequestBody SuggestRequestDto dto) {
+        return aiService.suggestTypeAndPriorityAsync(dto.getDescription()).thenApply(ResponseEntity::ok);
     }
 }
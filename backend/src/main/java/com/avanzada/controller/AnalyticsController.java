@@ -0,0 +1,45 @@
+package com.avanzada.controller;
+
+import com.avanzada.dto.SlaReportDto;
+import com.avanzada.service.SlaAnalytics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "SLA and aging metrics computed from the request history.")
+public class AnalyticsController {
+
+    private final SlaAnalytics slaAnalytics;
+
+    @PreAuthorize("hasAnyRole('STAFF','ADMIN')")
+    @GetMapping("/analytics/sla")
+    @Operation(
+            summary = "SLA and aging report",
+            description = "Time spent in each state, median/p90 time to close, and open requests older than "
+                    + "app.analytics.overdue-after-hours by request type and assignee. Cached; refreshed with new "
+                    + "history at most every app.analytics.refresh-seconds. Only STAFF and ADMIN."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Current report",
+                    content = @Content(schema = @Schema(implementation = SlaReportDto.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "User not allowed to see analytics",
+                    content = @Content)
+    })
+    public ResponseEntity<SlaReportDto> getSlaReport() {
+        return ResponseEntity.ok(slaAnalytics.report());
+    }
+}
@@ -3,9 +3,9 @@ package com.avanzada.controller;
 import com.avanzada.config.JwtUtil;
 import com.avanzada.dto.LoginRequestDto;
 import com.avanzada.dto.LoginResponseDto;
-import com.avanzada.entity.User;
-import com.avanzada.repository.UserRepository;
 import com.avanzada.security.AppUserDetails;
+import com.avanzada.security.PasswordHashingExecutor;
+import com.avanzada.security.TokenRevocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,15 +14,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -31,12 +34,14 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final PasswordHashingExecutor passwordHashing;
+    private final TokenRevocationService tokenRevocationService;
 
     @PostMapping("/login")
     @Operation(
             summary = "Authenticate user and return JWT token",
-            description = "Authenticates a user using identifier and password, returning a JWT token to be used in subsequent requests."
+            description = "Authenticates a user using identifier and password, returning a JWT token to be used in subsequent requests. "
+                    + "Passwords are verified on a bounded hashing pool."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "User authenticated",
@@ -44,24 +49,44 @@ public class AuthController {
             @ApiResponse(responseCode = "400", description = "Validation error",
                     content = @Content),
             @ApiResponse(responseCode = "401", description = "Invalid credentials",
+                    content = @Content),
+            @ApiResponse(responseCode = "429", description = "Too many logins being verified, retry shortly",
+                    content = @Content)
+    })
+    public CompletableFuture<ResponseEntity<LoginResponseDto>> login(@Valid @RequestBody LoginRequestDto dto) {
+        return passwordHashing.submit(() -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(dto.getIdentifier(), dto.getPassword())))
+                .thenApply(auth -> {
+                    AppUserDetails details = (AppUserDetails) auth.getPrincipal();
+                    LoginResponseDto.AuthUserDto userDto = LoginResponseDto.AuthUserDto.builder()
+                            .id(details.userId())
+                            .identifier(details.username())
+                            .name(details.name())
+                            .role(details.role())
+                            .build();
+                    return ResponseEntity.ok(LoginResponseDto.builder()
+                            .token(jwtUtil.generateToken(details))
+                            .user(userDto)
+                            .build());
+                });
+    }
+
+    /**
+     * Revokes the caller's token, which is rejected from now on even though it has not expired.
+     */
+    @PostMapping("/logout")
+    @Operation(
+            summary = "Log out (revoke the current JWT token)",
+            description = "Revokes the bearer token of this request. Other tokens of the user stay valid."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Token revoked",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
                     content = @Content)
     })
-    public ResponseEntity<LoginResponseDto> login(@Valid @RequestBody LoginRequestDto dto) {
-        Authentication auth = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(dto.getIdentifier(), dto.getPassword()));
-        AppUserDetails details = (AppUserDetails) auth.getPrincipal();
-        User user = userRepository.findById(details.userId())
-                .orElseThrow(() -> new IllegalStateException("User not found after auth"));
-        String token = jwtUtil.generateToken(user);
-        LoginResponseDto.AuthUserDto userDto = LoginResponseDto.AuthUserDto.builder()
-                .id(user.getId())
-                .identifier(user.getIdentifier())
-                .name(user.getName())
-                .role(user.getRole() != null ? user.getRole() : "STUDENT")
-                .build();
-        return ResponseEntity.ok(LoginResponseDto.builder()
-                .token(token)
-                .user(userDto)
-                .build());
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        tokenRevocationService.revokeToken(authorization.substring("Bearer ".length()));
+        return ResponseEntity.noContent().build();
     }
 }
@@ -3,9 +3,20 @@ package com.avanzada.controller;
 import com.avanzada.dto.RequestMapper;
 import com.avanzada.dto.*;
 import com.avanzada.entity.Request;
+import com.avanzada.repository.RequestCursor;
 import com.avanzada.security.AppUserDetails;
 import com.avanzada.service.AiService;
+import com.avanzada.service.BulkTransitionResult;
 import com.avanzada.service.RequestLifecycleService;
+import com.avanzada.service.RequestAction;
+import com.avanzada.service.RequestCounters;
+import com.avanzada.service.RequestPage;
+import com.avanzada.service.RequestQueue;
+import com.avanzada.service.RequestQueuePage;
+import com.avanzada.service.RequestSearch;
+import com.avanzada.service.RequestSearchResult;
+import com.avanzada.service.TransitionArgs;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,7 +26,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,8 +40,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -37,9 +56,19 @@ import java.util.stream.Collectors;
 @Tag(name = "Requests", description = "Operations to create, view and manage support requests.")
 public class RequestController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final int MAX_PAGE_SIZE = 200;
+    /** Deepest search result that can be paged to; each page ranks every hit before it. */
+    private static final int MAX_SEARCH_RESULTS = 10_000;
+    private static final int MAX_TRANSITION_ATTEMPTS = 3;
+
     private final RequestLifecycleService lifecycleService;
     private final RequestMapper mapper;
     private final AiService aiService;
+    private final RequestCounters requestCounters;
+    private final RequestQueue requestQueue;
+    private final RequestSearch requestSearch;
+    private final ObjectMapper objectMapper;
 
     private static Long currentUserId() {
         var auth = SecurityContextHolder.getContext().getAuthentication();
@@ -64,6 +93,28 @@ public class RequestController {
                 .anyMatch("ROLE_ADMIN"::equals);
     }
 
+    /** Current user, or the requester when the call carries no authenticated user. */
+    private Long actingUserId(Long requestId) {
+        Long userId = currentUserId();
+        return userId != null ? userId : lifecycleService.findRequestOrThrow(requestId).getRequestedBy().getId();
+    }
+
+    /**
+     * Runs a transition again when it lost an optimistic-lock race. The retry re-reads the request, so it either
+     * applies on top of the concurrent change or fails with the request's new state (409 either way if it keeps losing).
+     */
+    private static <T> T retryOnConflict(Supplier<T> transition) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transition.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_TRANSITION_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
     @PreAuthorize("hasAnyRole('STUDENT','STAFF','ADMIN')")
     @PostMapping("/requests")
     @Operation(
@@ -120,6 +171,175 @@ public class RequestController {
         return ResponseEntity.ok(body);
     }
 
+    /**
+     * Same listing as {@link #listRequests} for clients sending {@code Accept: application/x-ndjson}:
+     * one JSON object per line, written chunk by chunk as rows are read from the database; no connection is held
+     * while the client reads.
+     */
+    @GetMapping(value = "/requests", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Stream requests as NDJSON",
+            description = "Streams requests matching the optional filters, one JSON object per line. Students only see their own requests."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Requests streamed",
+                    content = @Content(mediaType = APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = RequestResponseDto.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> streamRequests(
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) Long requestType,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long assignedTo) {
+        Long requestedById = isCurrentUserStudent() ? currentUserId() : null;
+        StreamingResponseBody body = out -> lifecycleService.forEachByFilters(state, requestType, priority, assignedTo, requestedById,
+                request -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(mapper.toRequestResponseDto(request)));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping("/requests/page")
+    @Operation(
+            summary = "List requests (keyset pagination)",
+            description = "Lists requests applying optional filters, newest first, one page at a time. "
+                    + "Pass the returned nextCursor as cursor to get the next page. Students only see their own requests."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of requests",
+                    content = @Content(schema = @Schema(implementation = RequestPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content)
+    })
+    public ResponseEntity<RequestPageDto> listRequestsPage(
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) Long requestType,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long assignedTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Long requestedById = isCurrentUserStudent() ? currentUserId() : null;
+        RequestPage page = lifecycleService.listPageByFilters(state, requestType, priority, assignedTo, requestedById,
+                RequestCursor.decode(cursor), size);
+        return ResponseEntity.ok(RequestPageDto.builder()
+                .items(page.items().stream().map(mapper::toRequestResponseDto).collect(Collectors.toList()))
+                .nextCursor(page.next() != null ? page.next().encode() : null)
+                .build());
+    }
+
+    @GetMapping("/requests/search")
+    @Operation(
+            summary = "Search requests",
+            description = "Full-text search over request descriptions and history observations (classification "
+                    + "justification, closure observation, notes), best match first. Students only see their own requests."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of matches",
+                    content = @Content(schema = @Schema(implementation = RequestSearchPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Missing query, invalid page or page beyond the first 10000 results",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content)
+    })
+    public ResponseEntity<RequestSearchPageDto> searchRequests(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (((long) page + 1) * size > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Only the first " + MAX_SEARCH_RESULTS + " results can be paged through");
+        }
+        Long requestedById = isCurrentUserStudent() ? currentUserId() : null;
+        RequestSearchResult result = requestSearch.search(q, requestedById, page * size, size);
+        Map<Long, Float> scores = result.hits().stream()
+                .collect(Collectors.toMap(RequestSearchResult.Hit::requestId, RequestSearchResult.Hit::score));
+        List<Request> requests = lifecycleService.findRequestDetails(
+                result.hits().stream().map(RequestSearchResult.Hit::requestId).toList());
+        return ResponseEntity.ok(RequestSearchPageDto.builder()
+                .total(result.total())
+                .page(page)
+                .size(size)
+                .items(requests.stream()
+                        .map(r -> RequestSearchHitDto.builder()
+                                .score(scores.get(r.getId()))
+                                .request(mapper.toRequestResponseDto(r))
+                                .build())
+                        .collect(Collectors.toList()))
+                .build());
+    }
+
+    @GetMapping("/requests/queue")
+    @Operation(
+            summary = "Work queue (keyset pagination)",
+            description = "Lists the work queue columns of requests matching the optional filters, newest first, "
+                    + "one page at a time, from a denormalized read model kept in step with every change. "
+                    + "Pass the returned nextCursor as cursor to get the next page. Students only see their own requests."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of queue items",
+                    content = @Content(schema = @Schema(implementation = RequestQueuePageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content)
+    })
+    public ResponseEntity<RequestQueuePageDto> listQueue(
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) Long requestType,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long assignedTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Long requestedById = isCurrentUserStudent() ? currentUserId() : null;
+        RequestQueuePage page = requestQueue.page(state, requestType, priority, assignedTo, requestedById,
+                RequestCursor.decode(cursor), size);
+        return ResponseEntity.ok(RequestQueuePageDto.builder()
+                .items(page.items().stream().map(mapper::toRequestQueueItemDto).collect(Collectors.toList()))
+                .nextCursor(page.next() != null ? page.next().encode() : null)
+                .build());
+    }
+
+    @PreAuthorize("hasAnyRole('STAFF','ADMIN')")
+    @GetMapping("/requests/stats")
+    @Operation(
+            summary = "Request counts for the dashboard",
+            description = "Returns the number of requests per state, priority, request type, channel and assignee. "
+                    + "Counts are maintained on every change, so this never scans the requests. Only STAFF and ADMIN."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Current counts",
+                    content = @Content(schema = @Schema(implementation = RequestStatsDto.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "User not allowed to see the stats",
+                    content = @Content)
+    })
+    public ResponseEntity<RequestStatsDto> getStats() {
+        return ResponseEntity.ok(requestCounters.stats());
+    }
+
     @GetMapping("/requests/{id}")
     @Operation(
             summary = "Get request by id",
@@ -136,7 +356,7 @@ public class RequestController {
                     content = @Content)
     })
     public ResponseEntity<RequestResponseDto> getRequest(@PathVariable Long id) {
-        Request request = lifecycleService.findRequestOrThrow(id);
+        Request request = lifecycleService.findRequestDetailOrThrow(id);
         if (isCurrentUserStudent() && !request.getRequestedBy().getId().equals(currentUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -160,15 +380,15 @@ public class RequestController {
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Request not found",
                     content = @Content),
-            @ApiResponse(responseCode = "409", description = "Invalid state transition",
+            @ApiResponse(responseCode = "409", description = "Invalid state transition or concurrent modification",
                     content = @Content)
     })
     public ResponseEntity<RequestResponseDto> classify(
             @PathVariable Long id,
             @Valid @RequestBody ClassifyRequestDto dto) {
-        Long userId = currentUserId();
-        if (userId == null) userId = lifecycleService.findRequestOrThrow(id).getRequestedBy().getId();
-        Request request = lifecycleService.classify(id, dto.getRequestTypeId(), dto.getPriority(), dto.getPriorityJustification(), userId);
+        Long userId = actingUserId(id);
+        Request request = retryOnConflict(() -> lifecycleService.transition(id, RequestAction.CLASSIFY,
+                TransitionArgs.classify(dto.getRequestTypeId(), dto.getPriority(), dto.getPriorityJustification()), userId));
         return ResponseEntity.ok(mapper.toRequestResponseDto(request));
     }
 
@@ -189,15 +409,15 @@ public class RequestController {
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Request not found",
                     content = @Content),
-            @ApiResponse(responseCode = "409", description = "Invalid state transition",
+            @ApiResponse(responseCode = "409", description = "Invalid state transition or concurrent modification",
                     content = @Content)
     })
     public ResponseEntity<RequestResponseDto> assign(
             @PathVariable Long id,
             @Valid @RequestBody AssignRequestDto dto) {
-        Long userId = currentUserId();
-        if (userId == null) userId = lifecycleService.findRequestOrThrow(id).getRequestedBy().getId();
-        Request request = lifecycleService.assign(id, dto.getAssignedToId(), userId);
+        Long userId = actingUserId(id);
+        Request request = retryOnConflict(() -> lifecycleService.transition(id, RequestAction.ASSIGN,
+                TransitionArgs.assign(dto.getAssignedToId()), userId));
         return ResponseEntity.ok(mapper.toRequestResponseDto(request));
     }
 
@@ -218,16 +438,16 @@ public class RequestController {
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Request not found",
                     content = @Content),
-            @ApiResponse(responseCode = "409", description = "Invalid state transition",
+            @ApiResponse(responseCode = "409", description = "Invalid state transition or concurrent modification",
                     content = @Content)
     })
     public ResponseEntity<RequestResponseDto> attend(
             @PathVariable Long id,
             @RequestBody(required = false) AttendRequestDto dto) {
-        Long userId = currentUserId();
-        if (userId == null) userId = lifecycleService.findRequestOrThrow(id).getRequestedBy().getId();
+        Long userId = actingUserId(id);
         String observations = dto != null ? dto.getObservations() : null;
-        Request request = lifecycleService.attend(id, userId, observations);
+        Request request = retryOnConflict(() -> lifecycleService.transition(id, RequestAction.ATTEND,
+                TransitionArgs.attend(observations), userId));
         return ResponseEntity.ok(mapper.toRequestResponseDto(request));
     }
 
@@ -248,18 +468,134 @@ public class RequestController {
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Request not found",
                     content = @Content),
-            @ApiResponse(responseCode = "409", description = "Invalid state transition",
+            @ApiResponse(responseCode = "409", description = "Invalid state transition or concurrent modification",
                     content = @Content)
     })
     public ResponseEntity<RequestResponseDto> close(
             @PathVariable Long id,
             @Valid @RequestBody CloseRequestDto dto) {
-        Long userId = currentUserId();
-        if (userId == null) userId = lifecycleService.findRequestOrThrow(id).getRequestedBy().getId();
-        Request request = lifecycleService.close(id, dto.getClosureObservation(), userId);
+        Long userId = actingUserId(id);
+        Request request = retryOnConflict(() -> lifecycleService.transition(id, RequestAction.CLOSE,
+                TransitionArgs.close(dto.getClosureObservation()), userId));
         return ResponseEntity.ok(mapper.toRequestResponseDto(request));
     }
 
+    @PreAuthorize("hasAnyRole('STAFF','ADMIN')")
+    @PostMapping("/requests/bulk/classify")
+    @Operation(
+            summary = "Classify requests in bulk",
+            description = "Sets the same type and priority on many requests. Only STAFF and ADMIN can classify. Each request is validated against the state machine on its own; "
+                    + "the response lists the outcome per id and failed ids are left unchanged."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-request results",
+                    content = @Content(schema = @Schema(implementation = BulkTransitionResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error or invalid data",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "User not allowed to classify",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Requests kept being modified concurrently",
+                    content = @Content)
+    })
+    public ResponseEntity<BulkTransitionResponseDto> classifyAll(@Valid @RequestBody BulkClassifyRequestDto dto) {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        BulkTransitionResult result = retryOnConflict(() -> lifecycleService.transitionAll(dto.getRequestIds(), RequestAction.CLASSIFY,
+                TransitionArgs.classify(dto.getRequestTypeId(), dto.getPriority(), dto.getPriorityJustification()), userId));
+        return ResponseEntity.ok(mapper.toBulkTransitionResponseDto(result));
+    }
+
+    @PreAuthorize("hasAnyRole('STAFF','ADMIN')")
+    @PostMapping("/requests/bulk/assign")
+    @Operation(
+            summary = "Assign requests in bulk",
+            description = "Assigns many requests to the same staff user. Only STAFF and ADMIN can assign. Each request is validated against the state machine on its own; "
+                    + "the response lists the outcome per id and failed ids are left unchanged."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-request results",
+                    content = @Content(schema = @Schema(implementation = BulkTransitionResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error or invalid data",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "User not allowed to assign",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Requests kept being modified concurrently",
+                    content = @Content)
+    })
+    public ResponseEntity<BulkTransitionResponseDto> assignAll(@Valid @RequestBody BulkAssignRequestDto dto) {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        BulkTransitionResult result = retryOnConflict(() -> lifecycleService.transitionAll(dto.getRequestIds(), RequestAction.ASSIGN,
+                TransitionArgs.assign(dto.getAssignedToId()), userId));
+        return ResponseEntity.ok(mapper.toBulkTransitionResponseDto(result));
+    }
+
+    @PreAuthorize("hasAnyRole('STAFF','ADMIN')")
+    @PostMapping("/requests/bulk/attend")
+    @Operation(
+            summary = "Mark requests as attended in bulk",
+            description = "Marks many requests as attended with the same observations. Only STAFF and ADMIN can attend. Each request is validated against the state machine on its own; "
+                    + "the response lists the outcome per id and failed ids are left unchanged."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-request results",
+                    content = @Content(schema = @Schema(implementation = BulkTransitionResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error or invalid data",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "User not allowed to attend",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Requests kept being modified concurrently",
+                    content = @Content)
+    })
+    public ResponseEntity<BulkTransitionResponseDto> attendAll(@Valid @RequestBody BulkAttendRequestDto dto) {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        BulkTransitionResult result = retryOnConflict(() -> lifecycleService.transitionAll(dto.getRequestIds(), RequestAction.ATTEND,
+                TransitionArgs.attend(dto.getObservations()), userId));
+        return ResponseEntity.ok(mapper.toBulkTransitionResponseDto(result));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/requests/bulk/close")
+    @Operation(
+            summary = "Close requests in bulk",
+            description = "Closes many requests with the same closure observation. Only ADMIN can close. Each request is validated against the state machine on its own; "
+                    + "the response lists the outcome per id and failed ids are left unchanged."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-request results",
+                    content = @Content(schema = @Schema(implementation = BulkTransitionResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error or invalid data",
+                    content = @Content),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "User not allowed to close",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Requests kept being modified concurrently",
+                    content = @Content)
+    })
+    public ResponseEntity<BulkTransitionResponseDto> closeAll(@Valid @RequestBody BulkCloseRequestDto dto) {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        BulkTransitionResult result = retryOnConflict(() -> lifecycleService.transitionAll(dto.getRequestIds(), RequestAction.CLOSE,
+                TransitionArgs.close(dto.getClosureObservation()), userId));
+        return ResponseEntity.ok(mapper.toBulkTransitionResponseDto(result));
+    }
+
     @GetMapping("/requests/{id}/history")
     @Operation(
             summary = "Get request history",
@@ -276,7 +612,7 @@ public class RequestController {
                     content = @Content)
     })
     public ResponseEntity<List<HistoryEntryDto>> getHistory(@PathVariable Long id) {
-        Request request = lifecycleService.findRequestOrThrow(id);
+        Request request = lifecycleService.findRequestDetailOrThrow(id);
         if (isCurrentUserStudent() && !request.getRequestedBy().getId().equals(currentUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -288,6 +624,7 @@ public class RequestController {
 
     /**
      * Optional: get a textual summary of the request and its history (RF-09). Best-effort; returns fallback when IA unavailable.
+     * Completes asynchronously so the servlet thread is released while the LLM answers.
      */
     @GetMapping("/requests/{id}/summary")
     @Operation(
@@ -304,12 +641,11 @@ public class RequestController {
             @ApiResponse(responseCode = "404", description = "Request not found",
                     content = @Content)
     })
-    public ResponseEntity<SummaryResponseDto> getSummary(@PathVariable Long id) {
-        Request request = lifecycleService.findRequestOrThrow(id);
+    public CompletableFuture<ResponseEntity<SummaryResponseDto>> getSummary(@PathVariable Long id) {
+        Request request = lifecycleService.findRequestDetailOrThrow(id);
         if (isCurrentUserStudent() && !request.getRequestedBy().getId().equals(currentUserId())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
         }
-        SummaryResponseDto body = aiService.generateSummary(request);
-        return ResponseEntity.ok(body);
+        return aiService.generateSummaryAsync(request).thenApply(ResponseEntity::ok);
     }
 }
@@ -1,8 +1,9 @@
 package com.avanzada.controller;
 
+import com.avanzada.config.ReferenceDataProperties;
 import com.avanzada.dto.RequestMapper;
 import com.avanzada.dto.RequestTypeDto;
-import com.avanzada.repository.RequestTypeRepository;
+import com.avanzada.service.ReferenceDataCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,12 +12,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,7 +28,8 @@ import java.util.stream.Collectors;
 @Tag(name = "Request types", description = "Reference data: request types.")
 public class RequestTypeController {
 
-    private final RequestTypeRepository requestTypeRepository;
+    private final ReferenceDataCache referenceData;
+    private final ReferenceDataProperties referenceDataProperties;
     private final RequestMapper mapper;
 
     @GetMapping("/request-types")
@@ -36,13 +40,19 @@ public class RequestTypeController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Request types found",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = RequestTypeDto.class)))),
+            @ApiResponse(responseCode = "304", description = "Not modified (If-None-Match matches the current ETag)",
+                    content = @Content),
             @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
                     content = @Content)
     })
     public ResponseEntity<List<RequestTypeDto>> listRequestTypes() {
-        List<RequestTypeDto> body = requestTypeRepository.findAll().stream()
+        ReferenceDataCache.Snapshot snapshot = referenceData.snapshot();
+        List<RequestTypeDto> body = snapshot.requestTypes().stream()
                 .map(mapper::toRequestTypeDto)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(body);
+        return ResponseEntity.ok()
+                .eTag(snapshot.version())
+                .cacheControl(CacheControl.maxAge(referenceDataProperties.getHttpMaxAgeSeconds(), TimeUnit.SECONDS).cachePrivate())
+                .body(body);
     }
 }
@@ -0,0 +1,25 @@
+package com.avanzada.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAssignRequestDto {
+
+    @NotEmpty(message = "requestIds is required")
+    @Size(max = BulkTransitionResponseDto.MAX_ITEMS, message = "requestIds must have at most " + BulkTransitionResponseDto.MAX_ITEMS + " ids")
+    private List<@NotNull Long> requestIds;
+
+    @NotNull(message = "assignedToId is required")
+    private Long assignedToId;
+}
@@ -0,0 +1,30 @@
+package com.avanzada.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkClassifyRequestDto {
+
+    @NotEmpty(message = "requestIds is required")
+    @Size(max = BulkTransitionResponseDto.MAX_ITEMS, message = "requestIds must have at most " + BulkTransitionResponseDto.MAX_ITEMS + " ids")
+    private List<@NotNull Long> requestIds;
+
+    @NotNull(message = "requestTypeId is required")
+    private Long requestTypeId;
+
+    @NotNull(message = "priority is required")
+    private String priority; // LOW, MEDIUM, HIGH
+
+    private String priorityJustification;
+}
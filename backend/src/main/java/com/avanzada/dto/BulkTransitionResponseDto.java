@@ -0,0 +1,39 @@
+package com.avanzada.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk transition: one item per distinct request id, in request order. Failed items carry
+ * the reason (not found, wrong state) and leave the request unchanged; the others were applied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionResponseDto {
+
+    /** Upper bound on ids per bulk call. */
+    public static final int MAX_ITEMS = 5000;
+
+    private long succeeded;
+    private long failed;
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        private Long requestId;
+        private boolean success;
+        private String stateCode;
+        private String message;
+    }
+}
@@ -1,6 +1,7 @@
 package com.avanzada.dto;
 
 import com.avanzada.entity.*;
+import com.avanzada.service.BulkTransitionResult;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -36,6 +37,7 @@ public class RequestMapper {
                 .assignedToIdentifier(r.getAssignedTo() != null ? r.getAssignedTo().getIdentifier() : null)
                 .assignedToName(r.getAssignedTo() != null ? r.getAssignedTo().getName() : null)
                 .closureObservation(r.getClosureObservation())
+                .possibleDuplicateOf(r.getPossibleDuplicateOfId())
                 .createdAt(format(r.getCreatedAt()))
                 .updatedAt(format(r.getUpdatedAt()))
                 .build();
@@ -94,6 +96,38 @@ public class RequestMapper {
                 .build();
     }
 
+    public RequestQueueItemDto toRequestQueueItemDto(RequestQueueItem q) {
+        if (q == null) return null;
+        return RequestQueueItemDto.builder()
+                .requestId(q.getRequestId())
+                .stateCode(q.getStateCode())
+                .priority(q.getPriority() != null ? q.getPriority().name() : null)
+                .requestTypeCode(q.getRequestTypeCode())
+                .assignedToId(q.getAssignedToId())
+                .assignedToName(q.getAssignedToName())
+                .requestedById(q.getRequestedById())
+                .requestedByName(q.getRequestedByName())
+                .registeredAt(format(q.getRegisteredAt()))
+                .updatedAt(format(q.getUpdatedAt()))
+                .build();
+    }
+
+    public BulkTransitionResponseDto toBulkTransitionResponseDto(BulkTransitionResult result) {
+        long succeeded = result.succeeded();
+        return BulkTransitionResponseDto.builder()
+                .succeeded(succeeded)
+                .failed(result.items().size() - succeeded)
+                .items(result.items().stream()
+                        .map(i -> BulkTransitionResponseDto.Item.builder()
+                                .requestId(i.requestId())
+                                .success(i.success())
+                                .stateCode(i.stateCode())
+                                .message(i.error())
+                                .build())
+                        .toList())
+                .build();
+    }
+
     private static String format(Instant instant) {
         return instant != null ? ISO.format(instant) : null;
     }
@@ -0,0 +1,24 @@
+package com.avanzada.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated list of requests. Pass {@code nextCursor} as {@code cursor} to get the next page;
+ * it is absent on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RequestPageDto {
+
+    private List<RequestResponseDto> items;
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.avanzada.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the staff work queue: the list columns only; open the request for its full detail.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RequestQueueItemDto {
+
+    private Long requestId;
+    private String stateCode;
+    private String priority;
+    private String requestTypeCode;
+    private Long assignedToId;
+    private String assignedToName;
+    private Long requestedById;
+    private String requestedByName;
+    private String registeredAt;
+    private String updatedAt;
+}
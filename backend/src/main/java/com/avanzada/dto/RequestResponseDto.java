@@ -34,6 +34,8 @@ public class RequestResponseDto {
     private String assignedToIdentifier;
     private String assignedToName;
     private String closureObservation;
+    /** Earlier request of the same requester with a nearly identical description, if any. */
+    private Long possibleDuplicateOf;
     private String createdAt;
     private String updatedAt;
 }
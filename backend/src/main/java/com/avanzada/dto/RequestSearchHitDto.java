@@ -0,0 +1,19 @@
+package com.avanzada.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A search match: the request and its relevance score (higher is better; only comparable within one query).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestSearchHitDto {
+
+    private float score;
+    private RequestResponseDto request;
+}
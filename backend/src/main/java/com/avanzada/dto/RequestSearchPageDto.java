@@ -0,0 +1,23 @@
+package com.avanzada.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of search results, best match first, and the total number of matching requests.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestSearchPageDto {
+
+    private int total;
+    private int page;
+    private int size;
+    private List<RequestSearchHitDto> items;
+}
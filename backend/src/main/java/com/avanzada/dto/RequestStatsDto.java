@@ -0,0 +1,26 @@
+package com.avanzada.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Request counts for the operations dashboard. Keys are state, priority, request type and channel codes and
+ * assignee identifiers; requests without priority or assignee are counted under {@code NONE}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestStatsDto {
+
+    private long total;
+    private Map<String, Long> byState;
+    private Map<String, Long> byPriority;
+    private Map<String, Long> byRequestType;
+    private Map<String, Long> byChannel;
+    private Map<String, Long> byAssignee;
+}
@@ -0,0 +1,52 @@
+package com.avanzada.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time-in-state, time-to-close and overdue open requests, computed from the request history.
+ * Durations are in seconds; percentiles are accurate to about 5%.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaReportDto {
+
+    private String refreshedAt;
+    private long historyEntriesProcessed;
+    /** History rows committed too late to be read (see {@code app.analytics.rescan-ids}). */
+    private long historyEntriesMissed;
+    private List<StateDwell> dwellByState;
+    private Durations timeToClose;
+    private long overdueAfterHours;
+    private long openRequests;
+    private long overdue;
+    private Map<String, Long> overdueByRequestType;
+    private Map<String, Long> overdueByAssignee;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StateDwell {
+        private String state;
+        private Durations durations;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Durations {
+        private long count;
+        private long meanSeconds;
+        private long medianSeconds;
+        private long p90Seconds;
+    }
+}
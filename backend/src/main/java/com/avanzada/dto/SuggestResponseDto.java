@@ -16,8 +16,12 @@ import lombok.NoArgsConstructor;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class SuggestResponseDto {
 
+    public static final String SOURCE_LOCAL = "LOCAL";
+    public static final String SOURCE_LLM = "LLM";
+
     private String suggestedRequestTypeCode;
     private String suggestedPriority;
     private Boolean available; // false when IA is unavailable (RF-11)
     private String message;    // optional message when unavailable or error
+    private String source;     // LOCAL (in-process classifier) or LLM; absent when unavailable
 }
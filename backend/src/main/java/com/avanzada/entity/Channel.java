@@ -1,9 +1,11 @@
 package com.avanzada.entity;
 
+import com.avanzada.service.ReferenceDataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@EntityListeners(ReferenceDataChangeListener.class)
 @Table(name = "channel")
 @Getter
 @Setter
@@ -14,8 +14,13 @@ import java.time.Instant;
 @Builder
 public class HistoryEntry {
 
+    /** Pooled sequence so history inserts of a transaction are JDBC-batched at flush (see {@link Request#ID_SEQUENCE}). */
+    public static final String ID_SEQUENCE = "history_entry_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
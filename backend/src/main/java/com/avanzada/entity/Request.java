@@ -2,11 +2,26 @@ package com.avanzada.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 
 @Entity
-@Table(name = "request")
+@Table(name = "request", indexes = {
+        @Index(name = "idx_request_registered_id", columnList = "registered_at, id"),
+        @Index(name = "idx_request_state_registered", columnList = "state_id, registered_at"),
+        @Index(name = "idx_request_assignee_state", columnList = "assigned_to_id, state_id"),
+        @Index(name = "idx_request_requester_registered", columnList = "requested_by_id, registered_at"),
+        @Index(name = "idx_request_type_priority", columnList = "request_type_id, priority"),
+        @Index(name = "idx_request_summary_pending", columnList = "summary_pending, state_id, id")
+})
+@NamedEntityGraph(name = Request.GRAPH_DETAIL, attributeNodes = {
+        @NamedAttributeNode("requestType"),
+        @NamedAttributeNode("channel"),
+        @NamedAttributeNode("state"),
+        @NamedAttributeNode("requestedBy"),
+        @NamedAttributeNode("assignedTo")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,8 +29,19 @@ import java.time.Instant;
 @Builder
 public class Request {
 
+    /** Fetches every association the response mapper reads, so a listing is a single SQL statement. */
+    public static final String GRAPH_DETAIL = "Request.detail";
+
+    /**
+     * Pooled sequence: ids are handed out in blocks, so inserts are not flushed one by one and can be
+     * JDBC-batched (IDENTITY forces an immediate insert per entity).
+     */
+    public static final String ID_SEQUENCE = "request_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 2000)
@@ -54,12 +80,36 @@ public class Request {
     @Column(name = "closure_observation", length = 2000)
     private String closureObservation;
 
+    /**
+     * Earlier request of the same requester whose description is nearly the same (set at creation by
+     * {@code DuplicateDetector}); null when none was found.
+     */
+    @Column(name = "possible_duplicate_of_id")
+    private Long possibleDuplicateOfId;
+
+    /**
+     * Set by every insert and update; cleared by {@code SummaryBatchJob} once it has handled that version, so a
+     * run reads the changed closed requests only instead of every closed one.
+     */
+    @ColumnDefault("true")
+    @Column(name = "summary_pending", nullable = false)
+    private Boolean summaryPending;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Optimistic lock: every update is {@code ... WHERE id = ? AND version = ?}, so of two concurrent transitions
+     * from the same state only the first commits; the other fails with an optimistic locking exception.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         Instant now = Instant.now();
@@ -67,10 +117,12 @@ public class Request {
             createdAt = now;
         }
         updatedAt = now;
+        summaryPending = true;
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = Instant.now();
+        summaryPending = true;
     }
 }
@@ -0,0 +1,25 @@
+package com.avanzada.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of requests per dashboard dimension value, e.g. {@code state:3} or {@code assignee:NONE}, possibly
+ * split over shard rows ({@code state:3#5}) whose totals add up. Maintained by the lifecycle transitions so the stats endpoint never scans {@code request}.
+ */
+@Entity
+@Table(name = "request_counter")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequestCounter {
+
+    @Id
+    @Column(name = "counter_key", length = 80)
+    private String key;
+
+    @Column(nullable = false)
+    private long total;
+}
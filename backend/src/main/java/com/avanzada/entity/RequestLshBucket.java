@@ -0,0 +1,41 @@
+package com.avanzada.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Locality-sensitive hashing bucket membership: one row per band of a request's MinHash signature. The bucket
+ * hash includes the requester, so a lookup only ever reads that requester's similar requests.
+ */
+@Entity
+@Table(name = "request_lsh_bucket")
+@IdClass(RequestLshBucket.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequestLshBucket {
+
+    @Id
+    @Column(nullable = false)
+    private Long bucket;
+
+    @Id
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    @Column(name = "registered_at", nullable = false)
+    private Instant registeredAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long bucket;
+        private Long requestId;
+    }
+}
@@ -0,0 +1,57 @@
+package com.avanzada.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Denormalized copy of the columns the staff work queue shows, one row per request. Written in the same
+ * transaction as the request (see {@code RequestQueue}); queue reads never join the reference tables.
+ * The indexes start with the queue filters and end with the listing order, so a keyset page is one index range.
+ */
+@Entity
+@Table(name = "request_queue_item", indexes = {
+        @Index(name = "idx_queue_assignee_state", columnList = "assigned_to_id, state_code, registered_at, request_id"),
+        @Index(name = "idx_queue_state_registered", columnList = "state_code, registered_at, request_id"),
+        @Index(name = "idx_queue_requester_registered", columnList = "requested_by_id, registered_at, request_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequestQueueItem {
+
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Column(name = "state_code", nullable = false, length = 50)
+    private String stateCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Priority priority;
+
+    @Column(name = "request_type_code", nullable = false, length = 50)
+    private String requestTypeCode;
+
+    @Column(name = "assigned_to_id")
+    private Long assignedToId;
+
+    @Column(name = "assigned_to_name", length = 255)
+    private String assignedToName;
+
+    @Column(name = "requested_by_id", nullable = false)
+    private Long requestedById;
+
+    @Column(name = "requested_by_name", nullable = false, length = 255)
+    private String requestedByName;
+
+    @Column(name = "registered_at", nullable = false)
+    private Instant registeredAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
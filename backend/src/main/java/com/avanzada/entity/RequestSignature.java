@@ -0,0 +1,26 @@
+package com.avanzada.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * MinHash signature of a request's description, used to confirm near-duplicate candidates found through
+ * {@link RequestLshBucket}.
+ */
+@Entity
+@Table(name = "request_signature")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequestSignature {
+
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    /** Big-endian ints, one per MinHash function. */
+    @Column(nullable = false, length = 512)
+    private byte[] signature;
+}
@@ -0,0 +1,47 @@
+package com.avanzada.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Persisted AI summary of a request (RF-09), valid while the request's {@code updatedAt} equals
+ * {@code sourceVersion}. Survives restarts so summaries are not regenerated for unchanged requests.
+ */
+@Entity
+@Table(name = "request_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequestSummary {
+
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    /** {@link Request#getUpdatedAt()} of the request when the summary was generated. */
+    @Column(name = "source_version", nullable = false)
+    private Instant sourceVersion;
+
+    @Column(nullable = false, length = 4000)
+    private String summary;
+
+    @Column(name = "from_ai", nullable = false)
+    private Boolean fromAi;
+
+    @Column(name = "generated_at", nullable = false)
+    private Instant generatedAt;
+
+    /**
+     * Whether the summary was generated from the request as of {@code updatedAt}. Database timestamps keep
+     * microseconds, so both are compared at that precision.
+     */
+    public boolean isCurrentFor(Instant updatedAt) {
+        return updatedAt != null && sourceVersion != null
+                && updatedAt.truncatedTo(ChronoUnit.MICROS).equals(sourceVersion.truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,31 @@
+package com.avanzada.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Closed request the summary batch got no summary for, although the LLM answered. Not sent again while the
+ * request's {@code updatedAt} equals {@code sourceVersion}.
+ */
+@Entity
+@Table(name = "summary_batch_skip")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SummaryBatchSkip {
+
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    /** {@link Request#getUpdatedAt()} of the request when it was skipped. */
+    @Column(name = "source_version", nullable = false)
+    private Instant sourceVersion;
+
+    @Column(name = "skipped_at", nullable = false)
+    private Instant skippedAt;
+}
@@ -0,0 +1,38 @@
+package com.avanzada.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Persisted JWT revocation, reloaded at startup by {@code TokenRevocationService}. With {@code jti} null the
+ * row revokes every token of {@code userId} issued at or before {@code revokedAt} (user deactivated);
+ * otherwise it revokes the single token {@code jti} (logout). Rows are purged once {@code expiresAt} has
+ * passed, since every token they could match has expired by then.
+ */
+@Entity
+@Table(name = "token_revocation", indexes = @Index(name = "idx_token_revocation_expires", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(length = 64)
+    private String jti;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -1,10 +1,12 @@
 package com.avanzada.entity;
 
+import com.avanzada.security.UserDeactivationListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "app_user")
+@EntityListeners(UserDeactivationListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,4 +34,25 @@ public class User {
     /** BCrypt hash of password; null if user cannot login (e.g. legacy user). */
     @Column(name = "password_hash", length = 255)
     private String passwordHash;
+
+    /** {@code active} as last loaded or written, to detect deactivation in {@link UserDeactivationListener}. */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Boolean persistedActive;
+
+    @PostLoad
+    @PostPersist
+    void rememberActive() {
+        persistedActive = active;
+    }
+
+    /**
+     * True when this update switches {@code active} from true to false; resets the snapshot.
+     */
+    public boolean consumeDeactivation() {
+        boolean deactivated = Boolean.TRUE.equals(persistedActive) && !Boolean.TRUE.equals(active);
+        persistedActive = active;
+        return deactivated;
+    }
 }
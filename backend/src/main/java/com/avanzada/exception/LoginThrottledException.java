@@ -0,0 +1,11 @@
+package com.avanzada.exception;
+
+/**
+ * Thrown when too many logins are already waiting for password verification; mapped to 429.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    public LoginThrottledException() {
+        super("Too many login attempts in progress, please retry shortly");
+    }
+}
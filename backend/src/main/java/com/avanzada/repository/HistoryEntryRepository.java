@@ -1,11 +1,19 @@
 package com.avanzada.repository;
 
 import com.avanzada.entity.HistoryEntry;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface HistoryEntryRepository extends JpaRepository<HistoryEntry, Long> {
 
+    /** Fetches the acting user with each entry so mapping the history does not issue one select per row. */
+    @EntityGraph(attributePaths = "user")
     List<HistoryEntry> findByRequest_IdOrderByOccurredAtDesc(Long requestId);
+
+    /** History of several requests in one select, newest first. */
+    @EntityGraph(attributePaths = "user")
+    List<HistoryEntry> findByRequest_IdInOrderByOccurredAtDesc(Collection<Long> requestIds);
 }
@@ -0,0 +1,7 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.RequestCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RequestCounterRepository extends JpaRepository<RequestCounter, String> {
+}
@@ -0,0 +1,42 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.Request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position for request listings ordered by {@code registeredAt DESC, id DESC}.
+ * Clients receive it as an opaque token ({@code nextCursor}) and send it back unchanged to get the next page.
+ */
+public record RequestCursor(Instant registeredAt, Long id) {
+
+    public static RequestCursor of(Request request) {
+        return new RequestCursor(request.getRegisteredAt(), request.getId());
+    }
+
+    public String encode() {
+        String raw = registeredAt.getEpochSecond() + ":" + registeredAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token produced by {@link #encode()}; returns null for a blank token (first page).
+     */
+    public static RequestCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            Instant registeredAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new RequestCursor(registeredAt, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 decoding errors are both IllegalArgumentException
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.Priority;
+
+/**
+ * Optional filters for request listings (RF-07). Null fields are not filtered on.
+ */
+public record RequestFilter(
+        Long stateId,
+        Long requestTypeId,
+        Priority priority,
+        Long assignedToId,
+        Long requestedById
+) {
+}
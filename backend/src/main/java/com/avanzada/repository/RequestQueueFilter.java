@@ -0,0 +1,15 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.Priority;
+
+/**
+ * Optional filters for the staff work queue. Null fields are not filtered on.
+ */
+public record RequestQueueFilter(
+        String stateCode,
+        String requestTypeCode,
+        Priority priority,
+        Long assignedToId,
+        Long requestedById
+) {
+}
@@ -0,0 +1,10 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.RequestQueueItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Read side of the staff work queue; rows are written by {@code RequestQueue}.
+ */
+public interface RequestQueueItemRepository extends JpaRepository<RequestQueueItem, Long>, RequestQueueItemRepositoryCustom {
+}
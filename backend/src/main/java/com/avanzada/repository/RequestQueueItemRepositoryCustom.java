@@ -0,0 +1,14 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.RequestQueueItem;
+
+import java.util.List;
+
+public interface RequestQueueItemRepositoryCustom {
+
+    /**
+     * Keyset page ordered by registeredAt DESC, requestId DESC: at most {@code limit} rows strictly after
+     * {@code after} (null for the first page). Only the supplied filters become predicates.
+     */
+    List<RequestQueueItem> findPage(RequestQueueFilter filter, RequestCursor after, int limit);
+}
@@ -0,0 +1,53 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.RequestQueueItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class RequestQueueItemRepositoryImpl implements RequestQueueItemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RequestQueueItem> findPage(RequestQueueFilter filter, RequestCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RequestQueueItem> cq = cb.createQuery(RequestQueueItem.class);
+        Root<RequestQueueItem> root = cq.from(RequestQueueItem.class);
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.stateCode() != null) {
+            predicates.add(cb.equal(root.get("stateCode"), filter.stateCode()));
+        }
+        if (filter.requestTypeCode() != null) {
+            predicates.add(cb.equal(root.get("requestTypeCode"), filter.requestTypeCode()));
+        }
+        if (filter.priority() != null) {
+            predicates.add(cb.equal(root.get("priority"), filter.priority()));
+        }
+        if (filter.assignedToId() != null) {
+            predicates.add(cb.equal(root.get("assignedToId"), filter.assignedToId()));
+        }
+        if (filter.requestedById() != null) {
+            predicates.add(cb.equal(root.get("requestedById"), filter.requestedById()));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(root.get("registeredAt"), after.registeredAt()),
+                    cb.and(
+                            cb.equal(root.get("registeredAt"), after.registeredAt()),
+                            cb.lessThan(root.get("requestId"), after.id()))));
+        }
+        cq.where(predicates.toArray(Predicate[]::new));
+        cq.orderBy(cb.desc(root.get("registeredAt")), cb.desc(root.get("requestId")));
+        return entityManager.createQuery(cq)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -2,28 +2,39 @@ package com.avanzada.repository;
 
 import com.avanzada.entity.Priority;
 import com.avanzada.entity.Request;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Request with custom queries for RF-07 (filter by state, type, priority, responsible).
+ * Filtered listings are built dynamically in {@link RequestRepositoryImpl}.
  */
-public interface RequestRepository extends JpaRepository<Request, Long> {
+public interface RequestRepository extends JpaRepository<Request, Long>, RequestRepositoryCustom {
 
-    @Query("SELECT r FROM Request r WHERE (:stateId IS NULL OR r.state.id = :stateId) " +
-            "AND (:requestTypeId IS NULL OR r.requestType.id = :requestTypeId) " +
-            "AND (:priority IS NULL OR r.priority = :priority) " +
-            "AND (:assignedToId IS NULL OR r.assignedTo.id = :assignedToId) " +
-            "AND (:requestedById IS NULL OR r.requestedBy.id = :requestedById) " +
-            "ORDER BY r.registeredAt DESC")
-    List<Request> findByFilters(
-            @Param("stateId") Long stateId,
-            @Param("requestTypeId") Long requestTypeId,
-            @Param("priority") Priority priority,
-            @Param("assignedToId") Long assignedToId,
-            @Param("requestedById") Long requestedById
-    );
+    /**
+     * Read path for the detail endpoints: the request with type, channel, state and users in one statement.
+     */
+    @EntityGraph(Request.GRAPH_DETAIL)
+    Optional<Request> findDetailedById(Long id);
+
+    /**
+     * Requests with the associations of {@link Request#GRAPH_DETAIL}, in no particular order (search results).
+     */
+    @EntityGraph(Request.GRAPH_DETAIL)
+    List<Request> findDetailedByIdIn(Collection<Long> ids);
+
+    /**
+     * Targets of a bulk transition, with their state, in one statement.
+     */
+    @EntityGraph(attributePaths = "state")
+    List<Request> findByIdIn(Collection<Long> ids);
+
+    default List<Request> findByFilters(Long stateId, Long requestTypeId, Priority priority,
+                                        Long assignedToId, Long requestedById) {
+        return findByFilter(new RequestFilter(stateId, requestTypeId, priority, assignedToId, requestedById));
+    }
 }
@@ -0,0 +1,26 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.Request;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Dynamically built listing queries (see {@link RequestSpecifications}), ordered by registeredAt DESC, id DESC
+ * and fetching the associations of {@link Request#GRAPH_DETAIL}.
+ */
+public interface RequestRepositoryCustom {
+
+    List<Request> findByFilter(RequestFilter filter);
+
+    /**
+     * Keyset page: at most {@code limit} rows strictly after {@code after} (null for the first page).
+     */
+    List<Request> findPageByFilter(RequestFilter filter, RequestCursor after, int limit);
+
+    /**
+     * Same rows as {@link #findByFilter}, read through a JDBC cursor. Must be consumed inside a transaction
+     * and closed by the caller.
+     */
+    Stream<Request> streamByFilter(RequestFilter filter);
+}
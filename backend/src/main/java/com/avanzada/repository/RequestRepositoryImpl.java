@@ -0,0 +1,57 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.Request;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+class RequestRepositoryImpl implements RequestRepositoryCustom {
+
+    /** JDBC fetch size used when streaming; makes the MariaDB driver read rows incrementally. */
+    static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Request> findByFilter(RequestFilter filter) {
+        return query(RequestSpecifications.matching(filter)).getResultList();
+    }
+
+    @Override
+    public List<Request> findPageByFilter(RequestFilter filter, RequestCursor after, int limit) {
+        return query(RequestSpecifications.matching(filter).and(RequestSpecifications.after(after)))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Request> streamByFilter(RequestFilter filter) {
+        return query(RequestSpecifications.matching(filter))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private TypedQuery<Request> query(Specification<Request> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Request> cq = cb.createQuery(Request.class);
+        Root<Request> root = cq.from(Request.class);
+        Predicate predicate = spec.toPredicate(root, cq, cb);
+        if (predicate != null) {
+            cq.where(predicate);
+        }
+        cq.orderBy(cb.desc(root.get("registeredAt")), cb.desc(root.get("id")));
+        return entityManager.createQuery(cq)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(Request.GRAPH_DETAIL));
+    }
+}
@@ -0,0 +1,47 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.Request;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Builds request filters with only the predicates actually supplied, so the database can pick the matching
+ * composite index instead of planning a catch-all {@code (:x IS NULL OR col = :x)} query.
+ */
+public final class RequestSpecifications {
+
+    private RequestSpecifications() {
+    }
+
+    public static Specification<Request> matching(RequestFilter filter) {
+        Specification<Request> spec = Specification.where(null);
+        if (filter == null) return spec;
+        if (filter.stateId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("state").get("id"), filter.stateId()));
+        }
+        if (filter.requestTypeId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("requestType").get("id"), filter.requestTypeId()));
+        }
+        if (filter.priority() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("priority"), filter.priority()));
+        }
+        if (filter.assignedToId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("assignedTo").get("id"), filter.assignedToId()));
+        }
+        if (filter.requestedById() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("requestedBy").get("id"), filter.requestedById()));
+        }
+        return spec;
+    }
+
+    /**
+     * Rows strictly after {@code cursor} in registeredAt DESC, id DESC order; no predicate for the first page.
+     */
+    public static Specification<Request> after(RequestCursor cursor) {
+        if (cursor == null) return Specification.where(null);
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("registeredAt"), cursor.registeredAt()),
+                cb.and(
+                        cb.equal(root.get("registeredAt"), cursor.registeredAt()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
+}
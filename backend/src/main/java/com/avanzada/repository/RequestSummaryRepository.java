@@ -0,0 +1,7 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.RequestSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RequestSummaryRepository extends JpaRepository<RequestSummary, Long> {
+}
@@ -0,0 +1,7 @@
+package com.avanzada.repository;
+
+import com.avanzada.entity.SummaryBatchSkip;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SummaryBatchSkipRepository extends JpaRepository<SummaryBatchSkip, Long> {
+}
@@ -7,14 +7,29 @@ import java.util.Collection;
 
 /**
  * UserDetails implementation carrying the app user id for audit (e.g. history entries).
+ * {@code name} is only known when loaded from the database (login), not for JWT principals.
  */
 public record AppUserDetails(
         Long userId,
         String username,
+        String name,
         String password,
         Collection<? extends GrantedAuthority> authorities
 ) implements UserDetails {
 
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    /** Role without the {@code ROLE_} prefix (STUDENT, STAFF, ADMIN). */
+    public String role() {
+        for (GrantedAuthority authority : authorities) {
+            String value = authority.getAuthority();
+            if (value != null && value.startsWith(ROLE_PREFIX)) {
+                return value.substring(ROLE_PREFIX.length());
+            }
+        }
+        return "STUDENT";
+    }
+
     @Override
     public String getUsername() {
         return username;
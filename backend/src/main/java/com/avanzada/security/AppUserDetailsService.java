@@ -5,9 +5,11 @@ import com.avanzada.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
@@ -15,7 +17,7 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -32,6 +34,18 @@ public class AppUserDetailsService implements UserDetailsService {
         String role = user.getRole() != null && !user.getRole().isBlank() ? user.getRole() : "STUDENT";
         List<SimpleGrantedAuthority> authorities = Collections.singletonList(
                 new SimpleGrantedAuthority("ROLE_" + role));
-        return new AppUserDetails(user.getId(), user.getIdentifier(), user.getPasswordHash(), authorities);
+        return new AppUserDetails(user.getId(), user.getIdentifier(), user.getName(), user.getPasswordHash(), authorities);
+    }
+
+    /**
+     * Called by the authentication provider after a successful login whose stored hash uses an outdated
+     * encoder or cost factor; stores the hash computed from the presented password.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AppUserDetails details = (AppUserDetails) user;
+        userRepository.findById(details.userId()).ifPresent(u -> u.setPasswordHash(newPassword));
+        return new AppUserDetails(details.userId(), details.username(), details.name(), newPassword, details.authorities());
     }
 }
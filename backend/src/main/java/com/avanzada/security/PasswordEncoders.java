@@ -0,0 +1,47 @@
+package com.avanzada.security;
+
+import com.avanzada.config.PasswordProperties;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the application's {@link DelegatingPasswordEncoder}: new hashes use {@code app.password.encoder} and
+ * are stored with an {@code {id}} prefix; stored hashes of any registered encoder still verify. Hashes without
+ * a prefix (written before this was configurable) are plain BCrypt.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+    public static final String ARGON2 = "argon2";
+
+    private static final String BOUNCY_CASTLE_ARGON2 = "org.bouncycastle.crypto.generators.Argon2BytesGenerator";
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder create(PasswordProperties properties) {
+        String encodingId = properties.getEncoder() != null ? properties.getEncoder().trim().toLowerCase() : BCRYPT;
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (ClassUtils.isPresent(BOUNCY_CASTLE_ARGON2, PasswordEncoders.class.getClassLoader())) {
+            encoders.put(ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        }
+        if (!encoders.containsKey(encodingId)) {
+            throw new IllegalStateException("Unsupported app.password.encoder '" + properties.getEncoder()
+                    + "' (available: " + encoders.keySet() + ")");
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encodingId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+}
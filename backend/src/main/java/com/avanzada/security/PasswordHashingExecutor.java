@@ -0,0 +1,54 @@
+package com.avanzada.security;
+
+import com.avanzada.config.PasswordProperties;
+import com.avanzada.exception.LoginThrottledException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for password verification on login. CPU-heavy hashing runs on at most
+ * {@code app.password.hashing-threads} threads, so a login burst cannot occupy every servlet thread; when the
+ * queue is full the login fails fast with {@link LoginThrottledException} (429).
+ * <p>
+ * Deliberately not an {@code Executor} bean: that would replace Spring's default application task executor.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingExecutor(PasswordProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.getHashingThreads() > 0
+                ? properties.getHashingThreads()
+                : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getHashingQueueCapacity())),
+                Thread.ofPlatform().name("password-", 1).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, "password.hashing", List.of()).bindTo(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new LoginThrottledException());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
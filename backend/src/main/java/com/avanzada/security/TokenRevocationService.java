@@ -0,0 +1,145 @@
+package com.avanzada.security;
+
+import com.avanzada.config.JwtProperties;
+import com.avanzada.config.JwtUtil;
+import com.avanzada.entity.TokenRevocation;
+import com.avanzada.repository.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked JWTs, checked on every authenticated request without touching the database.
+ * <ul>
+ *   <li>per user, a "not-before" epoch second: tokens issued at or before it are revoked (user deactivated);</li>
+ *   <li>per token, its {@code jti} (logout): a Bloom filter answers the common "not revoked" case, an exact
+ *   set confirms positives.</li>
+ * </ul>
+ * {@link #isRevoked} does constant-time map/bit lookups and does not allocate. Every revocation is also stored
+ * in {@code token_revocation} and reloaded at startup; rows and in-memory entries are dropped once every token
+ * they could match has expired.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private static final int MIN_JTI_CAPACITY = 1024;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final TokenRevocationRepository repository;
+    private final JwtUtil jwtUtil;
+    private final JwtProperties jwtProperties;
+
+    private final Map<Long, Long> notBeforeByUser = new ConcurrentHashMap<>();
+    /** Revoked jti -> token expiry (epoch second). */
+    private final Map<String, Long> revokedJtis = new ConcurrentHashMap<>();
+    /** Replaced on resize; re-assigned after every insert so readers see the new bits (volatile write). */
+    private volatile BloomFilter jtiFilter = new BloomFilter(MIN_JTI_CAPACITY, FALSE_POSITIVE_RATE);
+
+    public TokenRevocationService(TokenRevocationRepository repository, JwtUtil jwtUtil, JwtProperties jwtProperties) {
+        this.repository = repository;
+        this.jwtUtil = jwtUtil;
+        this.jwtProperties = jwtProperties;
+    }
+
+    @PostConstruct
+    void load() {
+        Instant now = Instant.now();
+        int purged = repository.deleteExpired(now);
+        int loaded = 0;
+        for (TokenRevocation revocation : repository.findByExpiresAtAfter(now)) {
+            if (revocation.getJti() == null) {
+                notBeforeByUser.merge(revocation.getUserId(), revocation.getRevokedAt().getEpochSecond(), Math::max);
+            } else {
+                addJti(revocation.getJti(), revocation.getExpiresAt().getEpochSecond());
+            }
+            loaded++;
+        }
+        log.info("Token revocations loaded: {} active, {} expired purged", loaded, purged);
+    }
+
+    /**
+     * Whether a token with these claims was revoked. Runs on every request: no allocation, no I/O.
+     *
+     * @param jti              token id, null for tokens issued without one (only the user check applies)
+     * @param issuedAtSeconds  the token's {@code iat}
+     */
+    public boolean isRevoked(Long userId, String jti, long issuedAtSeconds) {
+        if (userId != null) {
+            Long notBefore = notBeforeByUser.get(userId);
+            if (notBefore != null && issuedAtSeconds <= notBefore) {
+                return true;
+            }
+        }
+        return jti != null && jtiFilter.mightContain(jti) && revokedJtis.containsKey(jti);
+    }
+
+    /**
+     * Revokes every token of the user issued up to now. Runs in its own transaction because it is called after
+     * the commit that deactivated the user.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void revokeUser(Long userId) {
+        Instant now = Instant.now();
+        repository.save(TokenRevocation.builder()
+                .userId(userId)
+                .revokedAt(now)
+                .expiresAt(now.plusSeconds(jwtProperties.getExpirationSeconds()))
+                .build());
+        notBeforeByUser.merge(userId, now.getEpochSecond(), Math::max);
+        log.info("Revoked all tokens of user {}", userId);
+    }
+
+    /**
+     * Revokes a single (valid) token, e.g. on logout.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    @Transactional
+    public void revokeToken(String token) {
+        Claims claims = jwtUtil.parseToken(token);
+        Long userId = claims.get("userId", Long.class);
+        Instant expiresAt = claims.getExpiration().toInstant();
+        if (claims.getId() == null) {
+            // issued before tokens carried a jti: the only way to revoke it is by user
+            revokeUser(userId);
+            return;
+        }
+        repository.save(TokenRevocation.builder()
+                .userId(userId)
+                .jti(claims.getId())
+                .revokedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+        addJti(claims.getId(), expiresAt.getEpochSecond());
+    }
+
+    private synchronized void addJti(String jti, long expiresAtSeconds) {
+        revokedJtis.put(jti, expiresAtSeconds);
+        BloomFilter filter = jtiFilter;
+        if (revokedJtis.size() > filter.capacity()) {
+            pruneExpired();
+            filter = new BloomFilter(Math.max(MIN_JTI_CAPACITY, revokedJtis.size() * 2), FALSE_POSITIVE_RATE);
+            for (String revoked : revokedJtis.keySet()) {
+                filter.put(revoked);
+            }
+        } else {
+            filter.put(jti);
+        }
+        jtiFilter = filter;
+    }
+
+    private void pruneExpired() {
+        long now = Instant.now().getEpochSecond();
+        revokedJtis.values().removeIf(expiresAt -> expiresAt <= now);
+        long oldestValidIssue = now - jwtProperties.getExpirationSeconds();
+        notBeforeByUser.values().removeIf(notBefore -> notBefore < oldestValidIssue);
+    }
+}
@@ -0,0 +1,13 @@
+package com.avanzada.security;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Thrown for a correctly signed, unexpired token that was revoked (logout or user deactivated).
+ */
+public class TokenRevokedException extends JwtException {
+
+    public TokenRevokedException() {
+        super("Token revoked");
+    }
+}
@@ -0,0 +1,47 @@
+package com.avanzada.security;
+
+import com.avanzada.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener on User: when {@code active} flips to false (or the user is deleted) all tokens of the
+ * user are revoked once the transaction commits. Instantiated by Spring (Hibernate's bean container); the
+ * service is resolved lazily to avoid a cycle with the EntityManagerFactory.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDeactivationListener {
+
+    private final ObjectProvider<TokenRevocationService> revocations;
+
+    @PostUpdate
+    public void onUpdate(User user) {
+        if (user.consumeDeactivation()) {
+            revokeAfterCommit(user.getId());
+        }
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        revokeAfterCommit(user.getId());
+    }
+
+    private void revokeAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            revocations.ifAvailable(service -> service.revokeUser(userId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revocations.ifAvailable(service -> service.revokeUser(userId));
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.avanzada.security;
+
+import com.avanzada.config.JwtProperties;
+import com.avanzada.config.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+
+/**
+ * Principals of already-verified JWTs, keyed by the SHA-256 of the token, so clients polling the API do not
+ * pay HMAC verification and claim parsing on every call. Each entry expires at the token's {@code exp};
+ * invalid or expired tokens are never cached. Revocation ({@link TokenRevocationService}) is checked on every
+ * call, cached or not. Metrics: {@code cache.*} with tag {@code cache=jwt.verified}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwt.verified";
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationService revocations;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, TokenRevocationService revocations, JwtProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.revocations = revocations;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getVerifiedTokenCacheSize())
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the principal for {@code token}, verifying it only on a cache miss.
+     *
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws TokenRevokedException               if the token was revoked
+     * @throws io.jsonwebtoken.JwtException        if the token is malformed or the signature does not match
+     */
+    public AppUserDetails authenticate(String token) {
+        String key = key(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified == null) {
+            Claims claims = jwtUtil.parseToken(token);
+            long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant().getEpochSecond() : 0;
+            verified = new VerifiedToken(toPrincipal(claims), claims.getId(), issuedAt,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+            if (verified.expiresAt() != null) {
+                cache.put(key, verified);
+            }
+        }
+        if (revocations.isRevoked(verified.principal().userId(), verified.jti(), verified.issuedAtSeconds())) {
+            throw new TokenRevokedException();
+        }
+        return verified.principal();
+    }
+
+    private static AppUserDetails toPrincipal(Claims claims) {
+        String role = claims.get("role", String.class);
+        if (role == null) role = "STUDENT";
+        return new AppUserDetails(claims.get("userId", Long.class), claims.getSubject(), null, null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    static String key(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(AppUserDetails principal, String jti, long issuedAtSeconds, Instant expiresAt) {
+    }
+
+    private static final class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
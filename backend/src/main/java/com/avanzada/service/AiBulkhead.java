@@ -0,0 +1,89 @@
+package com.avanzada.service;
+
+import com.avanzada.config.AiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded executor for LLM calls, so a slow provider ties up at most {@code maxConcurrentCalls}
+ * AI threads instead of servlet workers. When all threads are busy and the queue is full, or a task waited
+ * longer than the AI timeout, the fallback is returned instead.
+ * <p>
+ * Deliberately not an {@code Executor} bean: that would replace Spring's default application task executor.
+ */
+@Component
+@Slf4j
+public class AiBulkhead implements DisposableBean {
+
+    private final AiProperties aiProperties;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public AiBulkhead(AiProperties aiProperties, MeterRegistry meterRegistry, Environment environment) {
+        this.aiProperties = aiProperties;
+        this.executor = new ThreadPoolExecutor(
+                aiProperties.getMaxConcurrentCalls(), aiProperties.getMaxConcurrentCalls(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, aiProperties.getQueueCapacity())),
+                threadFactory(Threading.VIRTUAL.isActive(environment)),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, "ai", List.of()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("ai.bulkhead.rejected")
+                .description("AI calls answered with the fallback because the AI executor was saturated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code task} on an AI thread. {@code fallback} is used when the bulkhead is full or the task
+     * queued for longer than the AI timeout.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task, Supplier<T> fallback) {
+        long queuedAt = System.nanoTime();
+        long maxWaitNanos = TimeUnit.SECONDS.toNanos(aiProperties.getTimeoutSeconds());
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (System.nanoTime() - queuedAt > maxWaitNanos) {
+                    rejected.increment();
+                    return fallback.get();
+                }
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.debug("AI bulkhead full, using fallback");
+            return CompletableFuture.completedFuture(fallback.get());
+        }
+    }
+
+    /**
+     * With {@code spring.threads.virtual.enabled} the AI workers are virtual threads; the pool size still
+     * bounds concurrent LLM calls.
+     */
+    private static ThreadFactory threadFactory(boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name("ai-", 1).factory();
+        }
+        return Thread.ofPlatform().name("ai-", 1).daemon(true).factory();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,77 @@
+package com.avanzada.service;
+
+import com.avanzada.config.AiProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker for the LLM provider. After {@code circuitFailureThreshold} consecutive failures the circuit
+ * opens and AI calls short-circuit to their fallbacks; after {@code circuitOpenSeconds} one trial call is let
+ * through (half-open) and its outcome closes or re-opens the circuit.
+ */
+@Component
+public class AiCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final AiProperties aiProperties;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+
+    public AiCircuitBreaker(AiProperties aiProperties, MeterRegistry meterRegistry) {
+        this.aiProperties = aiProperties;
+        Gauge.builder("ai.circuit.open", this, breaker -> breaker.state() == State.CLOSED ? 0 : 1)
+                .description("1 while LLM calls are short-circuited to fallbacks")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a call would currently be let through, without claiming the half-open trial.
+     */
+    public synchronized boolean isCallPermitted() {
+        return state == State.CLOSED || (state == State.OPEN && openPeriodElapsed());
+    }
+
+    /**
+     * Claims permission for one call. Callers that get {@code true} must report {@link #onSuccess()} or
+     * {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) return true;
+        if (state == State.OPEN && openPeriodElapsed()) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= aiProperties.getCircuitFailureThreshold()) {
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized void reset() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    private boolean openPeriodElapsed() {
+        return System.nanoTime() - openedAtNanos >= TimeUnit.SECONDS.toNanos(aiProperties.getCircuitOpenSeconds());
+    }
+}
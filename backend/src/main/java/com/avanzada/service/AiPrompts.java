@@ -0,0 +1,147 @@
+package com.avanzada.service;
+
+import com.avanzada.dto.SuggestResponseDto;
+import com.avanzada.entity.HistoryEntry;
+import com.avanzada.entity.Request;
+
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prompt building and response parsing for the IA integration (RF-09, RF-10). Pure functions, kept apart
+ * from {@link AiServiceImpl} so they can be benchmarked without an LLM.
+ */
+public final class AiPrompts {
+
+    private static final String[] REQUEST_TYPE_CODES = {"REG_ASIG", "HOMOLOG", "CANCEL", "CUPOS", "CONSULTA"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private static final Set<String> VALID_TYPE_CODES = Set.of(REQUEST_TYPE_CODES);
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_INSTANT;
+    private static final Pattern TYPE_PATTERN =
+            Pattern.compile("requestTypeCode\\s*=\\s*([A-Z_]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PRIORITY_PATTERN =
+            Pattern.compile("priority\\s*=\\s*(" + String.join("|", PRIORITIES) + ")", Pattern.CASE_INSENSITIVE);
+    private static final String SUGGESTION_INSTRUCTIONS =
+            "Given this academic request description, suggest exactly one request type code and one priority. "
+                    + "Request type codes (choose one): " + String.join(", ", REQUEST_TYPE_CODES) + ". "
+                    + "Priority (choose one): " + String.join(", ", PRIORITIES) + ". "
+                    + "Reply with only a single line in this exact format: requestTypeCode=CODE priority=PRIORITY. "
+                    + "Example: requestTypeCode=HOMOLOG priority=HIGH\n\nDescription:\n";
+    private static final String SUMMARY_INSTRUCTIONS =
+            "Summarize in 2-4 short sentences this academic request and its lifecycle. Be concise.\n\n";
+    private static final String BATCH_SUMMARY_INSTRUCTIONS =
+            "Summarize in 2-4 short sentences each of the following academic requests and its lifecycle. Be concise. "
+                    + "Reply with one block per request, starting with a line in this exact format: #ID: "
+                    + "followed by the summary.\n\n";
+    private static final Pattern BATCH_SUMMARY_MARKER = Pattern.compile("(?m)^\\s*#(\\d+)\\s*:");
+    private static final int SUMMARY_HISTORY_LIMIT = 10;
+
+    private AiPrompts() {
+    }
+
+    public static String suggestionPrompt(String description) {
+        return SUGGESTION_INSTRUCTIONS + description;
+    }
+
+    /**
+     * Extracts type code and priority from a reply like {@code requestTypeCode=HOMOLOG priority=HIGH};
+     * unknown codes are dropped.
+     */
+    public static SuggestResponseDto parseSuggestion(String content) {
+        String requestTypeCode = null;
+        String priority = null;
+        Matcher typeMatcher = TYPE_PATTERN.matcher(content);
+        if (typeMatcher.find()) {
+            String code = typeMatcher.group(1).toUpperCase();
+            if (VALID_TYPE_CODES.contains(code)) {
+                requestTypeCode = code;
+            }
+        }
+        Matcher priorityMatcher = PRIORITY_PATTERN.matcher(content);
+        if (priorityMatcher.find()) {
+            priority = priorityMatcher.group(1).toUpperCase();
+        }
+        return SuggestResponseDto.builder()
+                .suggestedRequestTypeCode(requestTypeCode)
+                .suggestedPriority(priority)
+                .available(true)
+                .build();
+    }
+
+    /**
+     * Summary prompt with the request and its latest history entries (newest first).
+     */
+    public static String summaryPrompt(Request request, List<HistoryEntry> history) {
+        StringBuilder sb = new StringBuilder(SUMMARY_INSTRUCTIONS);
+        appendRequest(sb, request, history);
+        return sb.toString();
+    }
+
+    /**
+     * One prompt summarizing several requests; {@code history} holds each request's entries, newest first.
+     * The reply is read with {@link #parseBatchSummaries(String)}.
+     */
+    public static String batchSummaryPrompt(List<Request> requests, Map<Long, List<HistoryEntry>> history) {
+        StringBuilder sb = new StringBuilder(BATCH_SUMMARY_INSTRUCTIONS);
+        for (Request request : requests) {
+            appendRequest(sb, request, history.getOrDefault(request.getId(), List.of()));
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Summaries by request id from a reply with {@code #ID:} blocks; empty blocks are dropped.
+     */
+    public static Map<Long, String> parseBatchSummaries(String content) {
+        Map<Long, String> summaries = new HashMap<>();
+        Matcher matcher = BATCH_SUMMARY_MARKER.matcher(content);
+        Long id = null;
+        int start = 0;
+        while (matcher.find()) {
+            putSummary(summaries, id, content.substring(start, matcher.start()));
+            id = Long.valueOf(matcher.group(1));
+            start = matcher.end();
+        }
+        putSummary(summaries, id, content.substring(start));
+        return summaries;
+    }
+
+    private static void putSummary(Map<Long, String> summaries, Long id, String summary) {
+        if (id != null && !summary.isBlank()) {
+            summaries.putIfAbsent(id, summary.trim());
+        }
+    }
+
+    private static void appendRequest(StringBuilder sb, Request request, List<HistoryEntry> history) {
+        sb.append("Request #").append(request.getId()).append(": ").append(request.getDescription()).append("\n");
+        sb.append("State: ").append(request.getState() != null ? request.getState().getName() : "?").append("\n");
+        sb.append("Priority: ").append(request.getPriority() != null ? request.getPriority() : "not set").append("\n");
+        if (!history.isEmpty()) {
+            sb.append("History:\n");
+            for (int i = 0; i < Math.min(history.size(), SUMMARY_HISTORY_LIMIT); i++) {
+                HistoryEntry e = history.get(i);
+                sb.append("- ").append(ISO.format(e.getOccurredAt())).append(" ").append(e.getAction());
+                if (e.getObservations() != null && !e.getObservations().isBlank()) {
+                    sb.append(": ").append(e.getObservations());
+                }
+                sb.append("\n");
+            }
+        }
+    }
+
+    public static String fallbackSummary(Request request, List<HistoryEntry> history) {
+        String stateName = request.getState() != null ? request.getState().getName() : "Unknown";
+        return String.format("Request #%d – %s. Current state: %s. %d history entries.",
+                request.getId(),
+                request.getDescription().length() > 80 ? request.getDescription().substring(0, 80) + "…" : request.getDescription(),
+                stateName,
+                history.size());
+    }
+}
@@ -4,6 +4,10 @@ import com.avanzada.dto.SuggestResponseDto;
 import com.avanzada.dto.SummaryResponseDto;
 import com.avanzada.entity.Request;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Optional AI integration (RF-09, RF-10, RF-11). Best-effort; when disabled or failing, fallbacks are returned.
  */
@@ -12,4 +16,23 @@ public interface AiService {
     SuggestResponseDto suggestTypeAndPriority(String description);
 
     SummaryResponseDto generateSummary(Request request);
+
+    /**
+     * Non-blocking variant of {@link #suggestTypeAndPriority(String)}: LLM calls run on the bounded AI executor;
+     * cached answers and fallbacks complete immediately.
+     */
+    CompletableFuture<SuggestResponseDto> suggestTypeAndPriorityAsync(String description);
+
+    /**
+     * Non-blocking variant of {@link #generateSummary(Request)}: LLM calls run on the bounded AI executor;
+     * stored summaries and fallbacks complete immediately.
+     */
+    CompletableFuture<SummaryResponseDto> generateSummaryAsync(Request request);
+
+    /**
+     * Summarizes {@code requests} with a single LLM call on the caller's thread and stores the summaries. Returns
+     * the ids that got one; requests the reply leaves out are not stored. Unlike the other methods this is not
+     * best-effort: it throws when AI is not configured or the call fails, so batch callers can retry.
+     */
+    Set<Long> summarizeTogether(List<Request> requests);
 }
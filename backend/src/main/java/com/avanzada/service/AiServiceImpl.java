@@ -5,21 +5,28 @@ import com.avanzada.dto.SuggestResponseDto;
 import com.avanzada.dto.SummaryResponseDto;
 import com.avanzada.entity.HistoryEntry;
 import com.avanzada.entity.Request;
+import com.avanzada.entity.RequestSummary;
 import com.avanzada.repository.HistoryEntryRepository;
+import com.avanzada.repository.RequestSummaryRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.format.DateTimeFormatter;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 
 /**
  * Optional IA integration (RF-09, RF-10, RF-11). All methods are best-effort;
@@ -30,70 +37,233 @@ import java.util.regex.Pattern;
 @Slf4j
 public class AiServiceImpl implements AiService {
 
-    private static final String[] REQUEST_TYPE_CODES = {"REG_ASIG", "HOMOLOG", "CANCEL", "CUPOS", "CONSULTA"};
-    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
-    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_INSTANT;
+    private static final int SUMMARY_MAX_TOKENS = 300;
 
     private final AiProperties aiProperties;
     private final HistoryEntryRepository historyEntryRepository;
     private final ObjectMapper objectMapper;
+    private final RestTemplate aiRestTemplate;
+    private final AiSuggestionCache suggestionCache;
+    private final RequestSummaryRepository requestSummaryRepository;
+    private final AiBulkhead bulkhead;
+    private final AiCircuitBreaker circuitBreaker;
+    private final RequestClassifier classifier;
+    private final ConcurrentMap<SummaryKey, CompletableFuture<SummaryResponseDto>> summariesInFlight = new ConcurrentHashMap<>();
 
     @Override
     public SuggestResponseDto suggestTypeAndPriority(String description) {
+        return localSuggestion(description)
+                .or(() -> quickSuggestion(description))
+                .orElseGet(() -> suggestWithLlm(description));
+    }
+
+    @Override
+    public CompletableFuture<SuggestResponseDto> suggestTypeAndPriorityAsync(String description) {
+        Optional<SuggestResponseDto> quick = localSuggestion(description).or(() -> quickSuggestion(description));
+        if (quick.isPresent()) {
+            return CompletableFuture.completedFuture(quick.get());
+        }
+        return bulkhead.submit(() -> suggestWithLlm(description),
+                () -> unavailableSuggestion("Suggestion temporarily unavailable: AI is busy."));
+    }
+
+    /**
+     * Confident prediction of the local classifier; answered even when the LLM is disabled.
+     */
+    private Optional<SuggestResponseDto> localSuggestion(String description) {
+        return classifier.suggest(description).map(s -> SuggestResponseDto.builder()
+                .suggestedRequestTypeCode(s.requestTypeCode())
+                .suggestedPriority(s.priority())
+                .available(true)
+                .source(SuggestResponseDto.SOURCE_LOCAL)
+                .build());
+    }
+
+    /**
+     * Answers that need no LLM call: AI disabled, a cached suggestion, or the provider circuit open.
+     */
+    private Optional<SuggestResponseDto> quickSuggestion(String description) {
         if (!aiProperties.isConfigured()) {
-            return SuggestResponseDto.builder()
-                    .available(false)
-                    .message("AI suggestion is disabled or not configured.")
-                    .build();
+            return Optional.of(unavailableSuggestion("AI suggestion is disabled or not configured."));
         }
-        String prompt = buildSuggestionPrompt(description);
+        var cached = suggestionCache.get(description);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        if (!circuitBreaker.isCallPermitted()) {
+            return Optional.of(unavailableSuggestion("Suggestion temporarily unavailable: AI provider is failing."));
+        }
+        return Optional.empty();
+    }
+
+    private SuggestResponseDto suggestWithLlm(String description) {
+        String prompt = AiPrompts.suggestionPrompt(description);
         try {
             String content = callLlm(prompt, 150);
             if (content == null || content.isBlank()) {
-                return SuggestResponseDto.builder().available(false).message("No suggestion returned.").build();
+                return unavailableSuggestion("No suggestion returned.");
+            }
+            SuggestResponseDto suggestion = AiPrompts.parseSuggestion(content);
+            suggestion.setSource(SuggestResponseDto.SOURCE_LLM);
+            if (suggestion.getSuggestedRequestTypeCode() != null || suggestion.getSuggestedPriority() != null) {
+                suggestionCache.put(description, suggestion);
             }
-            return parseSuggestionResponse(content);
+            return suggestion;
         } catch (Exception e) {
             log.warn("AI suggestion failed: {}", e.getMessage());
-            return SuggestResponseDto.builder()
-                    .available(false)
-                    .message("Suggestion temporarily unavailable: " + e.getMessage())
-                    .build();
+            return unavailableSuggestion("Suggestion temporarily unavailable: " + e.getMessage());
         }
     }
 
+    private static SuggestResponseDto unavailableSuggestion(String message) {
+        return SuggestResponseDto.builder().available(false).message(message).build();
+    }
+
     @Override
     public SummaryResponseDto generateSummary(Request request) {
+        return summarize(request, true);
+    }
+
+    @Override
+    public CompletableFuture<SummaryResponseDto> generateSummaryAsync(Request request) {
+        Optional<SummaryResponseDto> stored = storedSummary(request);
+        if (stored.isPresent()) {
+            return CompletableFuture.completedFuture(stored.get());
+        }
+        if (!aiProperties.isConfigured() || !circuitBreaker.isCallPermitted()) {
+            return CompletableFuture.completedFuture(summarize(request, false));
+        }
+        return bulkhead.submit(() -> summarize(request, true), () -> summarize(request, false));
+    }
+
+    /**
+     * Serves the persisted AI summary while the request is unchanged (same {@code updatedAt}); otherwise
+     * regenerates it, or builds the fallback when {@code useLlm} is false. Concurrent calls for the same
+     * request version share one generation.
+     */
+    private SummaryResponseDto summarize(Request request, boolean useLlm) {
+        Optional<SummaryResponseDto> stored = storedSummary(request);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        if (!useLlm) {
+            return fallbackSummary(request, historyEntryRepository.findByRequest_IdOrderByOccurredAtDesc(request.getId()));
+        }
+        Instant version = summaryVersion(request);
+        SummaryKey key = new SummaryKey(request.getId(), version);
+        CompletableFuture<SummaryResponseDto> mine = new CompletableFuture<>();
+        CompletableFuture<SummaryResponseDto> running = summariesInFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            SummaryResponseDto result = computeSummary(request, version);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            summariesInFlight.remove(key, mine);
+        }
+    }
+
+    /** Persisted summary of the request, when it was generated from the current version. */
+    private Optional<SummaryResponseDto> storedSummary(Request request) {
+        return requestSummaryRepository.findById(request.getId())
+                .filter(s -> s.isCurrentFor(request.getUpdatedAt()))
+                .map(s -> SummaryResponseDto.builder().summary(s.getSummary()).fromAi(s.getFromAi()).build());
+    }
+
+    @Override
+    public Set<Long> summarizeTogether(List<Request> requests) {
+        if (requests.isEmpty()) {
+            return Set.of();
+        }
+        if (!aiProperties.isConfigured()) {
+            throw new IllegalStateException("AI is disabled or not configured");
+        }
+        Map<Long, List<HistoryEntry>> history = historyEntryRepository.findByRequest_IdInOrderByOccurredAtDesc(
+                        requests.stream().map(Request::getId).toList()).stream()
+                .collect(Collectors.groupingBy(e -> e.getRequest().getId()));
+        Map<Long, String> summaries;
+        try {
+            if (requests.size() == 1) {
+                Request request = requests.get(0);
+                String summary = callLlm(AiPrompts.summaryPrompt(request, history.getOrDefault(request.getId(), List.of())),
+                        SUMMARY_MAX_TOKENS);
+                summaries = summary == null || summary.isBlank() ? Map.of() : Map.of(request.getId(), summary.trim());
+            } else {
+                String content = callLlm(AiPrompts.batchSummaryPrompt(requests, history),
+                        SUMMARY_MAX_TOKENS * requests.size());
+                summaries = content == null ? Map.of() : AiPrompts.parseBatchSummaries(content);
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable AI response: " + e.getMessage(), e);
+        }
+        Set<Long> stored = new HashSet<>();
+        for (Request request : requests) {
+            String summary = summaries.get(request.getId());
+            if (summary != null) {
+                storeSummary(request.getId(), summaryVersion(request), summary);
+                stored.add(request.getId());
+            }
+        }
+        return stored;
+    }
+
+    private SummaryResponseDto computeSummary(Request request, Instant version) {
         List<HistoryEntry> history = historyEntryRepository.findByRequest_IdOrderByOccurredAtDesc(request.getId());
         if (!aiProperties.isConfigured()) {
-            return SummaryResponseDto.builder()
-                    .summary(buildFallbackSummary(request, history))
-                    .fromAi(false)
-                    .build();
+            return fallbackSummary(request, history);
         }
-        String context = buildSummaryContext(request, history);
         try {
-            String prompt = "Summarize in 2-4 short sentences this academic request and its lifecycle. Be concise.\n\n" + context;
-            String summary = callLlm(prompt, 300);
+            String prompt = AiPrompts.summaryPrompt(request, history);
+            String summary = callLlm(prompt, SUMMARY_MAX_TOKENS);
             if (summary != null && !summary.isBlank()) {
+                storeSummary(request.getId(), version, summary.trim());
                 return SummaryResponseDto.builder().summary(summary.trim()).fromAi(true).build();
             }
         } catch (Exception e) {
             log.warn("AI summary failed for request {}: {}", request.getId(), e.getMessage());
         }
+        return fallbackSummary(request, history);
+    }
+
+    private SummaryResponseDto fallbackSummary(Request request, List<HistoryEntry> history) {
         return SummaryResponseDto.builder()
-                .summary(buildFallbackSummary(request, history))
+                .summary(AiPrompts.fallbackSummary(request, history))
                 .fromAi(false)
                 .build();
     }
 
-    private String callLlm(String userMessage, int maxTokens) throws Exception {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        int timeoutMs = aiProperties.getTimeoutSeconds() * 1000;
-        factory.setConnectTimeout(timeoutMs);
-        factory.setReadTimeout(timeoutMs);
-        RestTemplate rest = new RestTemplate(factory);
+    private void storeSummary(Long requestId, Instant version, String summary) {
+        if (version == null) return;
+        try {
+            requestSummaryRepository.save(RequestSummary.builder()
+                    .requestId(requestId)
+                    .sourceVersion(version)
+                    .summary(summary.length() > 4000 ? summary.substring(0, 4000) : summary)
+                    .fromAi(true)
+                    .generatedAt(Instant.now())
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Could not store summary for request {}: {}", requestId, e.getMessage());
+        }
+    }
+
+    private static Instant summaryVersion(Request request) {
+        return summaryVersion(request.getUpdatedAt());
+    }
 
+    /** Database timestamps keep microseconds; compare at that precision. */
+    private static Instant summaryVersion(Instant updatedAt) {
+        return updatedAt != null ? updatedAt.truncatedTo(ChronoUnit.MICROS) : null;
+    }
+
+    private String callLlm(String userMessage, int maxTokens) throws Exception {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setBearerAuth(aiProperties.getApiKey());
@@ -105,12 +275,22 @@ public class AiServiceImpl implements AiService {
         );
 
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-        ResponseEntity<String> response = rest.exchange(
-                aiProperties.getEndpoint(),
-                HttpMethod.POST,
-                entity,
-                String.class
-        );
+        if (!circuitBreaker.tryAcquire()) {
+            throw new IllegalStateException("AI provider circuit is open");
+        }
+        ResponseEntity<String> response;
+        try {
+            response = aiRestTemplate.exchange(
+                    aiProperties.getEndpoint(),
+                    HttpMethod.POST,
+                    entity,
+                    String.class
+            );
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        }
+        circuitBreaker.onSuccess();
 
         if (response.getBody() == null) return null;
         JsonNode root = objectMapper.readTree(response.getBody());
@@ -121,65 +301,6 @@ public class AiServiceImpl implements AiService {
         return content.isTextual() ? content.asText() : null;
     }
 
-    private String buildSuggestionPrompt(String description) {
-        return "Given this academic request description, suggest exactly one request type code and one priority. "
-                + "Request type codes (choose one): " + String.join(", ", REQUEST_TYPE_CODES) + ". "
-                + "Priority (choose one): " + String.join(", ", PRIORITIES) + ". "
-                + "Reply with only a single line in this exact format: requestTypeCode=CODE priority=PRIORITY. "
-                + "Example: requestTypeCode=HOMOLOG priority=HIGH\n\nDescription:\n" + description;
-    }
-
-    private SuggestResponseDto parseSuggestionResponse(String content) {
-        String requestTypeCode = null;
-        String priority = null;
-        Pattern typePattern = Pattern.compile("requestTypeCode\\s*=\\s*([A-Z_]+)", Pattern.CASE_INSENSITIVE);
-        Pattern priorityPattern = Pattern.compile("priority\\s*=\\s*(" + String.join("|", PRIORITIES) + ")", Pattern.CASE_INSENSITIVE);
-        Matcher typeMatcher = typePattern.matcher(content);
-        Matcher priorityMatcher = priorityPattern.matcher(content);
-        if (typeMatcher.find()) {
-            String code = typeMatcher.group(1).toUpperCase();
-            for (String valid : REQUEST_TYPE_CODES) {
-                if (valid.equals(code)) {
-                    requestTypeCode = code;
-                    break;
-                }
-            }
-        }
-        if (priorityMatcher.find()) {
-            priority = priorityMatcher.group(1).toUpperCase();
-        }
-        return SuggestResponseDto.builder()
-                .suggestedRequestTypeCode(requestTypeCode)
-                .suggestedPriority(priority)
-                .available(true)
-                .build();
-    }
-
-    private String buildSummaryContext(Request request, List<HistoryEntry> history) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Request #").append(request.getId()).append(": ").append(request.getDescription()).append("\n");
-        sb.append("State: ").append(request.getState() != null ? request.getState().getName() : "?").append("\n");
-        sb.append("Priority: ").append(request.getPriority() != null ? request.getPriority() : "not set").append("\n");
-        if (!history.isEmpty()) {
-            sb.append("History:\n");
-            for (int i = 0; i < Math.min(history.size(), 10); i++) {
-                HistoryEntry e = history.get(i);
-                sb.append("- ").append(ISO.format(e.getOccurredAt())).append(" ").append(e.getAction());
-                if (e.getObservations() != null && !e.getObservations().isBlank()) {
-                    sb.append(": ").append(e.getObservations());
-                }
-                sb.append("\n");
-            }
-        }
-        return sb.toString();
-    }
-
-    private String buildFallbackSummary(Request request, List<HistoryEntry> history) {
-        String stateName = request.getState() != null ? request.getState().getName() : "Unknown";
-        return String.format("Request #%d – %s. Current state: %s. %d history entries.",
-                request.getId(),
-                request.getDescription().length() > 80 ? request.getDescription().substring(0, 80) + "…" : request.getDescription(),
-                stateName,
-                history.size());
+    private record SummaryKey(Long requestId, Instant version) {
     }
 }
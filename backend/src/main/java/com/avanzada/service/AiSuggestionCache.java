@@ -0,0 +1,68 @@
+package com.avanzada.service;
+
+import com.avanzada.config.AiProperties;
+import com.avanzada.dto.SuggestResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded, TTL-evicting cache of AI suggestions (RF-10) keyed by a hash of the normalized description, so
+ * near-identical descriptions (case, whitespace, accents) are answered without calling the LLM.
+ * Hit/miss/eviction counters are published as {@code cache.*} metrics with tag {@code cache=ai.suggestions}.
+ */
+@Component
+public class AiSuggestionCache {
+
+    static final String CACHE_NAME = "ai.suggestions";
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Cache<String, SuggestResponseDto> cache;
+
+    public AiSuggestionCache(AiProperties aiProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(aiProperties.getSuggestionCacheSize())
+                .expireAfterWrite(Duration.ofMinutes(aiProperties.getSuggestionCacheTtlMinutes()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<SuggestResponseDto> get(String description) {
+        return Optional.ofNullable(cache.getIfPresent(key(description)));
+    }
+
+    public void put(String description, SuggestResponseDto suggestion) {
+        cache.put(key(description), suggestion);
+    }
+
+    /** Lowercases, strips accents and collapses whitespace. */
+    static String normalize(String description) {
+        if (description == null) return "";
+        String folded = DIACRITICS.matcher(Normalizer.normalize(description, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    static String key(String description) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalize(description).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.avanzada.service;
+
+import java.util.List;
+
+/**
+ * Per-request outcome of a bulk transition, in the order the ids were given (duplicates removed).
+ * A failed item carries the message the single-request endpoint would have answered with.
+ */
+public record BulkTransitionResult(List<Item> items) {
+
+    public record Item(Long requestId, String stateCode, String error) {
+
+        static Item succeeded(Long requestId, String stateCode) {
+            return new Item(requestId, stateCode, null);
+        }
+
+        static Item failed(Long requestId, String error) {
+            return new Item(requestId, null, error);
+        }
+
+        public boolean success() {
+            return error == null;
+        }
+    }
+
+    public long succeeded() {
+        return items.stream().filter(Item::success).count();
+    }
+}
@@ -0,0 +1,165 @@
+package com.avanzada.service;
+
+import com.avanzada.config.DuplicateProperties;
+import com.avanzada.entity.Request;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Flags new requests whose description nearly repeats an earlier request of the same requester (the same request
+ * filed again through another channel). Descriptions are reduced to MinHash signatures of their
+ * {@link SpanishAnalyzer} terms; candidates come from the requester's LSH buckets (an index lookup per band, so
+ * the cost does not grow with the table) and are confirmed by comparing signatures. Requests without a signature
+ * (written outside the service) are signed before the web server starts.
+ */
+@Component
+@Slf4j
+public class DuplicateDetector implements SmartInitializingSingleton {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final String INSERT_SIGNATURE = "INSERT INTO request_signature (request_id, signature) VALUES (?, ?)";
+    private static final String INSERT_BUCKET =
+            "INSERT INTO request_lsh_bucket (bucket, request_id, registered_at) VALUES (?, ?, ?)";
+    private static final String CANDIDATES = "SELECT DISTINCT request_id FROM request_lsh_bucket "
+            + "WHERE bucket IN (" + String.join(", ", Collections.nCopies(MinHash.BANDS, "?")) + ") "
+            + "AND registered_at >= ? AND registered_at <= ?";
+    /** Next batch of requests without a signature, after a request id. */
+    private static final String UNSIGNED = "SELECT r.id, r.requested_by_id, r.registered_at, r.description "
+            + "FROM request r WHERE r.id > ? "
+            + "AND NOT EXISTS (SELECT 1 FROM request_signature s WHERE s.request_id = r.id) "
+            + "ORDER BY r.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DuplicateProperties properties;
+
+    public DuplicateDetector(DataSource dataSource, DuplicateProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(BACKFILL_BATCH_SIZE);
+        this.properties = properties;
+    }
+
+    /**
+     * Id of the most similar earlier request of the same requester within the window, or null. Meant for a
+     * request not saved yet, so the result goes into its INSERT; reads ids only, so lazy proxies stay
+     * uninitialized.
+     */
+    public Long detect(Request request) {
+        int[] signature = signature(request.getDescription());
+        return signature != null ? mostSimilar(request, request.getRequestedBy().getId(), signature) : null;
+    }
+
+    /**
+     * Writes the signature and LSH buckets of a request whose row is already flushed, in the caller's transaction.
+     */
+    public void record(Request request) {
+        List<Object[]> signatures = new ArrayList<>(1);
+        List<Object[]> buckets = new ArrayList<>(MinHash.BANDS);
+        collect(signatures, buckets, request.getId(), request.getRequestedBy().getId(), request.getRegisteredAt(),
+                signature(request.getDescription()));
+        write(signatures, buckets);
+    }
+
+    private static int[] signature(String description) {
+        return MinHash.signature(new HashSet<>(SpanishAnalyzer.terms(description)));
+    }
+
+    private Long mostSimilar(Request request, long requesterId, int[] signature) {
+        Instant registeredAt = request.getRegisteredAt();
+        List<Object> args = new ArrayList<>(MinHash.BANDS + 2);
+        for (long bucket : MinHash.buckets(requesterId, signature)) {
+            args.add(bucket);
+        }
+        args.add(Timestamp.from(registeredAt.minus(Duration.ofDays(properties.getWindowDays()))));
+        args.add(Timestamp.from(registeredAt));
+        List<Long> candidates = jdbcTemplate.queryForList(CANDIDATES, Long.class, args.toArray());
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        String in = String.join(", ", Collections.nCopies(candidates.size(), "?"));
+        Long[] best = {null};
+        double[] bestSimilarity = {properties.getThreshold()};
+        jdbcTemplate.query("SELECT request_id, signature FROM request_signature WHERE request_id IN (" + in + ")",
+                (RowCallbackHandler) rs -> {
+                    int[] other = MinHash.decode(rs.getBytes(2));
+                    if (other == null) {
+                        return;
+                    }
+                    double similarity = MinHash.similarity(signature, other);
+                    long id = rs.getLong(1);
+                    if (similarity > bestSimilarity[0]
+                            || (similarity == bestSimilarity[0] && (best[0] == null || id > best[0]))) {
+                        bestSimilarity[0] = similarity;
+                        best[0] = id;
+                    }
+                }, candidates.toArray());
+        return best[0];
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    /**
+     * Computes signatures and buckets for requests that have none (rows written outside the service, or created
+     * before detection existed), in id-keyset batches. Does not flag duplicates among them.
+     */
+    void backfill() {
+        List<Object[]> signatures = new ArrayList<>(BACKFILL_BATCH_SIZE);
+        List<Object[]> buckets = new ArrayList<>(BACKFILL_BATCH_SIZE * MinHash.BANDS);
+        long[] after = {0};
+        int total = 0;
+        while (true) {
+            jdbcTemplate.query(UNSIGNED, (RowCallbackHandler) rs -> {
+                after[0] = rs.getLong(1);
+                collect(signatures, buckets, after[0], rs.getLong(2), rs.getTimestamp(3).toInstant(),
+                        signature(rs.getString(4)));
+            }, after[0], BACKFILL_BATCH_SIZE);
+            int batch = signatures.size();
+            write(signatures, buckets);
+            total += batch;
+            if (batch < BACKFILL_BATCH_SIZE) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Duplicate detection: signed {} existing requests", total);
+        }
+    }
+
+    private static void collect(List<Object[]> signatures, List<Object[]> buckets, long requestId, long requesterId,
+                                Instant registeredAt, int[] signature) {
+        signatures.add(new Object[]{requestId, MinHash.encode(signature)});
+        if (signature == null) {
+            return;
+        }
+        Timestamp at = Timestamp.from(registeredAt);
+        for (long bucket : MinHash.buckets(requesterId, signature)) {
+            buckets.add(new Object[]{bucket, requestId, at});
+        }
+    }
+
+    private void write(List<Object[]> signatures, List<Object[]> buckets) {
+        if (!signatures.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SIGNATURE, signatures);
+        }
+        if (!buckets.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BUCKET, buckets);
+        }
+        signatures.clear();
+        buckets.clear();
+    }
+}
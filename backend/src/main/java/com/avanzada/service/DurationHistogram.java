@@ -0,0 +1,55 @@
+package com.avanzada.service;
+
+/**
+ * Fixed-size histogram of durations in seconds with logarithmic buckets (5% wide), so percentiles of millions
+ * of samples take constant memory. Percentiles are exact to within one bucket; the mean is exact.
+ */
+final class DurationHistogram {
+
+    private static final double GROWTH = 1.05;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    /** 1.05^420 s is far beyond any request's lifetime; longer durations go to the last bucket. */
+    private static final int BUCKETS = 421;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long totalSeconds;
+
+    void add(long seconds) {
+        long s = Math.max(0, seconds);
+        counts[bucket(s)]++;
+        count++;
+        totalSeconds += s;
+    }
+
+    long count() {
+        return count;
+    }
+
+    long meanSeconds() {
+        return count == 0 ? 0 : totalSeconds / count;
+    }
+
+    /** Lower bound of the bucket holding the {@code quantile} sample (0 < quantile <= 1). */
+    long percentileSeconds(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : Math.round(Math.pow(GROWTH, i - 1));
+            }
+        }
+        return Math.round(Math.pow(GROWTH, BUCKETS - 2));
+    }
+
+    private static int bucket(long seconds) {
+        if (seconds < 1) {
+            return 0;
+        }
+        return (int) Math.min(BUCKETS - 1, 1 + (long) (Math.log(seconds) / LOG_GROWTH));
+    }
+}
@@ -0,0 +1,372 @@
+package com.avanzada.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * In-memory inverted index over request text ({@link SpanishAnalyzer} terms), ranked with BM25. Each request is
+ * one document; text can be appended to a document at any time (new history observations). Posting lists are
+ * varint-encoded (document gap, frequency) pairs in ascending document order, so appends to the newest documents
+ * are O(1); appends to older documents are buffered per term and merged in batches. Remembers the highest request and history
+ * ids it contains, so a persisted copy can be brought up to date with only newer rows. Not thread-safe: callers
+ * guard it with a read/write lock. Concurrent searches (under the read lock) take their score buffers from a
+ * shared pool, so a query does not allocate arrays as large as the index.
+ */
+final class InvertedIndex {
+
+    private static final int MAGIC = 0x52514958;
+    private static final int FORMAT_VERSION = 1;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] requestIds = new long[1024];
+    private long[] requesterIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private int documents;
+    private long totalLength;
+    private long maxRequestId;
+    private long maxHistoryId;
+    /** Idle buffers; holds at most one per search that ran concurrently. */
+    private final Deque<Scratch> scratches = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Adds the terms of {@code text} to the request's document, creating it if needed. {@code historyId} is the
+     * history entry the text comes from, or 0 for the request's own description.
+     */
+    void add(long requestId, long requesterId, long historyId, String text) {
+        maxRequestId = Math.max(maxRequestId, requestId);
+        maxHistoryId = Math.max(maxHistoryId, historyId);
+        List<String> terms = SpanishAnalyzer.terms(text);
+        if (terms.isEmpty() && ordinals.containsKey(requestId)) {
+            return;
+        }
+        int doc = ordinals.computeIfAbsent(requestId, id -> newDocument(id, requesterId));
+        Map<String, Integer> frequencies = new HashMap<>();
+        terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        frequencies.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new PostingList()).add(doc, freq));
+        lengths[doc] += terms.size();
+        totalLength += terms.size();
+    }
+
+    int documentCount() {
+        return documents;
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    long maxRequestId() {
+        return maxRequestId;
+    }
+
+    long maxHistoryId() {
+        return maxHistoryId;
+    }
+
+    /**
+     * BM25 search: documents containing any query term, best first. When {@code requesterId} is not null only
+     * that requester's documents match. Returns the total number of matches and the hits in
+     * {@code [offset, offset + limit)}.
+     */
+    RequestSearchResult search(String query, Long requesterId, int offset, int limit) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(SpanishAnalyzer.terms(query))) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return new RequestSearchResult(0, List.of());
+        }
+
+        Scratch scratch = scratches.poll();
+        if (scratch == null) {
+            scratch = new Scratch();
+        }
+        try {
+            return rank(lists, requesterId, offset, limit, scratch.reserve(documents));
+        } finally {
+            scratch.clear();
+            scratches.push(scratch);
+        }
+    }
+
+    private RequestSearchResult rank(List<PostingList> lists, Long requesterId, int offset, int limit, Scratch scratch) {
+        float averageLength = (float) totalLength / documents;
+        float[] scores = scratch.scores;
+        int[] matched = scratch.matched;
+        for (PostingList list : lists) {
+            float idf = (float) Math.log(1 + (documents - list.size + 0.5) / (list.size + 0.5));
+            list.forEach((doc, freq) -> {
+                if (requesterId != null && requesterIds[doc] != requesterId) {
+                    return;
+                }
+                float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                if (scores[doc] == 0) {
+                    matched[scratch.matches++] = doc;
+                }
+                scores[doc] += idf * freq * (K1 + 1) / (freq + norm);
+            });
+        }
+
+        int wanted = offset + limit;
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.min(wanted, scratch.matches) + 1,
+                (a, b) -> scores[a] != scores[b] ? Float.compare(scores[a], scores[b]) : Integer.compare(a, b));
+        for (int i = 0; i < scratch.matches; i++) {
+            top.add(matched[i]);
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+        List<RequestSearchResult.Hit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int doc = top.poll();
+            hits.add(new RequestSearchResult.Hit(requestIds[doc], scores[doc]));
+        }
+        Collections.reverse(hits);
+        List<RequestSearchResult.Hit> page = offset < hits.size() ? hits.subList(offset, hits.size()) : List.of();
+        return new RequestSearchResult(scratch.matches, List.copyOf(page));
+    }
+
+    /** Writes the whole index; {@link #read} restores it. */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(SpanishAnalyzer.VERSION);
+        out.writeLong(maxRequestId);
+        out.writeLong(maxHistoryId);
+        out.writeInt(documents);
+        for (int doc = 0; doc < documents; doc++) {
+            out.writeLong(requestIds[doc]);
+            out.writeLong(requesterIds[doc]);
+            out.writeInt(lengths[doc]);
+        }
+        out.writeInt(postings.size());
+        for (Map.Entry<String, PostingList> e : postings.entrySet()) {
+            PostingList list = e.getValue();
+            list.compact();
+            out.writeUTF(e.getKey());
+            out.writeInt(list.encoded);
+            out.writeInt(list.lastDoc);
+            out.writeInt(list.lastFreqAt);
+            out.writeInt(list.length);
+            out.write(list.bytes, 0, list.length);
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #write}; throws {@link IOException} when the data was written with another
+     * format or analyzer version.
+     */
+    static InvertedIndex read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readInt() != SpanishAnalyzer.VERSION) {
+            throw new IOException("Unsupported search segment version");
+        }
+        InvertedIndex index = new InvertedIndex();
+        index.maxRequestId = in.readLong();
+        index.maxHistoryId = in.readLong();
+        int documents = in.readInt();
+        for (int doc = 0; doc < documents; doc++) {
+            long requestId = in.readLong();
+            index.ordinals.put(requestId, index.newDocument(requestId, in.readLong()));
+            index.lengths[doc] = in.readInt();
+            index.totalLength += index.lengths[doc];
+        }
+        int terms = in.readInt();
+        for (int t = 0; t < terms; t++) {
+            String term = in.readUTF();
+            PostingList list = new PostingList();
+            list.encoded = in.readInt();
+            list.size = list.encoded;
+            list.lastDoc = in.readInt();
+            list.lastFreqAt = in.readInt();
+            list.length = in.readInt();
+            list.bytes = new byte[list.length];
+            in.readFully(list.bytes);
+            index.postings.put(term, list);
+        }
+        return index;
+    }
+
+    private int newDocument(long requestId, long requesterId) {
+        if (documents == requestIds.length) {
+            int capacity = documents * 2;
+            requestIds = Arrays.copyOf(requestIds, capacity);
+            requesterIds = Arrays.copyOf(requesterIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        requestIds[documents] = requestId;
+        requesterIds[documents] = requesterId;
+        return documents++;
+    }
+
+    private static int readVInt(byte[] bytes, int[] pos) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Per-search score buffer indexed by document, with the documents scored so far. Only those entries are reset
+     * afterwards, so reusing the buffer costs as much as the query touched, not the size of the index.
+     */
+    private static final class Scratch {
+
+        private float[] scores = new float[0];
+        private int[] matched = new int[0];
+        private int matches;
+
+        Scratch reserve(int documents) {
+            if (scores.length < documents) {
+                scores = new float[documents];
+                matched = new int[documents];
+            }
+            return this;
+        }
+
+        void clear() {
+            for (int i = 0; i < matches; i++) {
+                scores[matched[i]] = 0;
+            }
+            matches = 0;
+        }
+    }
+
+    /** Receives the entries of a posting list in ascending document order. */
+    @FunctionalInterface
+    private interface PostingVisitor {
+        void accept(int doc, int freq);
+    }
+
+    /**
+     * Documents containing a term, ascending, each as a varint gap from the previous document followed by the
+     * term's frequency in it. Additions to documents before the last one wait in a small sorted buffer that is
+     * merged in when it fills up (or before writing), so updating older requests does not re-encode the list
+     * every time.
+     */
+    private static final class PostingList {
+
+        private static final int MAX_PENDING = 128;
+        private static final int[] NONE = new int[0];
+
+        private byte[] bytes = new byte[8];
+        private int length;
+        private int encoded;
+        private int lastDoc = -1;
+        /** Offset of the last frequency, so adding to the last document rewrites only that varint. */
+        private int lastFreqAt;
+        private int[] pendingDocs = NONE;
+        private int[] pendingFreqs = NONE;
+        private int pending;
+        /** Documents in the list; may count a document twice while it is both encoded and pending. */
+        private int size;
+
+        void add(int doc, int freq) {
+            if (doc > lastDoc) {
+                writeVInt(doc - lastDoc);
+                lastFreqAt = length;
+                writeVInt(freq);
+                lastDoc = doc;
+                encoded++;
+                size++;
+            } else if (doc == lastDoc) {
+                int[] pos = {lastFreqAt};
+                int total = readVInt(bytes, pos) + freq;
+                length = lastFreqAt;
+                writeVInt(total);
+            } else {
+                addPending(doc, freq);
+            }
+        }
+
+        private void addPending(int doc, int freq) {
+            int at = Arrays.binarySearch(pendingDocs, 0, pending, doc);
+            if (at >= 0) {
+                pendingFreqs[at] += freq;
+                return;
+            }
+            at = -at - 1;
+            if (pending == pendingDocs.length) {
+                pendingDocs = Arrays.copyOf(pendingDocs, Math.max(8, pending * 2));
+                pendingFreqs = Arrays.copyOf(pendingFreqs, pendingDocs.length);
+            }
+            System.arraycopy(pendingDocs, at, pendingDocs, at + 1, pending - at);
+            System.arraycopy(pendingFreqs, at, pendingFreqs, at + 1, pending - at);
+            pendingDocs[at] = doc;
+            pendingFreqs[at] = freq;
+            pending++;
+            size++;
+            if (pending == MAX_PENDING) {
+                compact();
+            }
+        }
+
+        /** Visits the encoded entries merged with the pending ones, ascending, one call per document. */
+        void forEach(PostingVisitor visitor) {
+            int[] pos = {0};
+            int doc = -1;
+            int p = 0;
+            for (int i = 0; i < encoded; i++) {
+                doc += readVInt(bytes, pos);
+                int freq = readVInt(bytes, pos);
+                while (p < pending && pendingDocs[p] < doc) {
+                    visitor.accept(pendingDocs[p], pendingFreqs[p]);
+                    p++;
+                }
+                if (p < pending && pendingDocs[p] == doc) {
+                    freq += pendingFreqs[p++];
+                }
+                visitor.accept(doc, freq);
+            }
+        }
+
+        /** Merges the pending entries into the encoded list. */
+        void compact() {
+            if (pending == 0) {
+                return;
+            }
+            PostingList merged = new PostingList();
+            forEach(merged::add);
+            bytes = merged.bytes;
+            length = merged.length;
+            encoded = merged.encoded;
+            lastDoc = merged.lastDoc;
+            lastFreqAt = merged.lastFreqAt;
+            pendingDocs = NONE;
+            pendingFreqs = NONE;
+            pending = 0;
+            size = encoded;
+        }
+
+        private void writeVInt(int value) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.avanzada.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * MinHash signatures of term sets and their locality-sensitive hashing bands. Two sets agree on each signature
+ * position with probability equal to their Jaccard similarity; splitting the signature into {@link #BANDS} bands
+ * of {@link #ROWS} positions makes sets above roughly 0.5 similarity share at least one band bucket with high
+ * probability, while dissimilar sets rarely do. Hash seeds are fixed: persisted signatures and buckets stay
+ * comparable across restarts.
+ */
+final class MinHash {
+
+    static final int HASHES = 64;
+    static final int BANDS = 16;
+    static final int ROWS = HASHES / BANDS;
+
+    private static final long[] SEEDS = seeds();
+
+    private MinHash() {
+    }
+
+    /** Signature of {@code terms}; null for an empty set. */
+    static int[] signature(Collection<String> terms) {
+        if (terms.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String term : terms) {
+            long base = fnv1a(term);
+            for (int i = 0; i < HASHES; i++) {
+                int h = (int) (mix(base ^ SEEDS[i]) >>> 32);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /** Estimated Jaccard similarity: the fraction of positions where the signatures agree. */
+    static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / HASHES;
+    }
+
+    /** One bucket per band, scoped to {@code requesterId}. */
+    static long[] buckets(long requesterId, int[] signature) {
+        long[] buckets = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long h = mix(requesterId) ^ band;
+            for (int row = 0; row < ROWS; row++) {
+                h = mix(h * 31 + signature[band * ROWS + row]);
+            }
+            buckets[band] = h;
+        }
+        return buckets;
+    }
+
+    static byte[] encode(int[] signature) {
+        if (signature == null) {
+            return new byte[0];
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HASHES * Integer.BYTES);
+        for (int value : signature) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    /** Null for the empty encoding of a request without terms. */
+    static int[] decode(byte[] bytes) {
+        if (bytes == null || bytes.length != HASHES * Integer.BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] signature = new int[HASHES];
+        for (int i = 0; i < HASHES; i++) {
+            signature[i] = buffer.getInt();
+        }
+        return signature;
+    }
+
+    private static long fnv1a(String term) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < term.length(); i++) {
+            h ^= term.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long[] seeds() {
+        long[] seeds = new long[HASHES];
+        long state = 0x5EED_2024L;
+        for (int i = 0; i < HASHES; i++) {
+            state += 0x9e3779b97f4a7c15L;
+            seeds[i] = mix(state);
+        }
+        return seeds;
+    }
+}
@@ -0,0 +1,110 @@
+package com.avanzada.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Multinomial Naive Bayes over term counts with Laplace smoothing. Prediction adds one precomputed
+ * log-likelihood vector per known term, so it costs microseconds; terms never seen in training are ignored.
+ */
+final class NaiveBayes {
+
+    private final String[] labels;
+    private final double[] logPriors;
+    private final Map<String, double[]> logLikelihoods;
+
+    private NaiveBayes(String[] labels, double[] logPriors, Map<String, double[]> logLikelihoods) {
+        this.labels = labels;
+        this.logPriors = logPriors;
+        this.logLikelihoods = logLikelihoods;
+    }
+
+    /** Most probable label and its posterior probability. */
+    record Prediction(String label, double confidence) {
+    }
+
+    Prediction predict(Collection<String> terms) {
+        double[] scores = logPriors.clone();
+        for (String term : terms) {
+            double[] likelihoods = logLikelihoods.get(term);
+            if (likelihoods != null) {
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] += likelihoods[i];
+                }
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        double total = 0;
+        for (double score : scores) {
+            total += Math.exp(score - scores[best]);
+        }
+        return new Prediction(labels[best], 1 / total);
+    }
+
+    /** Accumulates term counts per label, one example at a time. */
+    static final class Trainer {
+
+        private static final double ALPHA = 1.0;
+
+        private final Map<String, Integer> labelIndex = new LinkedHashMap<>();
+        private final Map<String, long[]> termCounts = new HashMap<>();
+        private long[] documents = new long[0];
+        private long[] totalTerms = new long[0];
+
+        void add(Collection<String> terms, String label) {
+            int index = labelIndex.computeIfAbsent(label, l -> labelIndex.size());
+            if (index == documents.length) {
+                documents = Arrays.copyOf(documents, index + 1);
+                totalTerms = Arrays.copyOf(totalTerms, index + 1);
+            }
+            documents[index]++;
+            for (String term : terms) {
+                long[] counts = termCounts.computeIfAbsent(term, t -> new long[labelIndex.size()]);
+                if (counts.length <= index) {
+                    counts = Arrays.copyOf(counts, labelIndex.size());
+                    termCounts.put(term, counts);
+                }
+                counts[index]++;
+                totalTerms[index]++;
+            }
+        }
+
+        long examples() {
+            return Arrays.stream(documents).sum();
+        }
+
+        /** Null when fewer than two labels were seen (nothing to choose between). */
+        NaiveBayes build() {
+            int labels = labelIndex.size();
+            if (labels < 2) {
+                return null;
+            }
+            long examples = examples();
+            double[] logPriors = new double[labels];
+            double[] denominators = new double[labels];
+            int vocabulary = termCounts.size();
+            for (int i = 0; i < labels; i++) {
+                logPriors[i] = Math.log((double) documents[i] / examples);
+                denominators[i] = Math.log(totalTerms[i] + ALPHA * vocabulary);
+            }
+            Map<String, double[]> logLikelihoods = new HashMap<>(termCounts.size() * 2);
+            termCounts.forEach((term, counts) -> {
+                double[] likelihoods = new double[labels];
+                for (int i = 0; i < labels; i++) {
+                    long count = i < counts.length ? counts[i] : 0;
+                    likelihoods[i] = Math.log(count + ALPHA) - denominators[i];
+                }
+                logLikelihoods.put(term, likelihoods);
+            });
+            return new NaiveBayes(labelIndex.keySet().toArray(String[]::new), logPriors, logLikelihoods);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.avanzada.service;
+
+import com.avanzada.config.ReferenceDataProperties;
+import com.avanzada.entity.Channel;
+import com.avanzada.entity.RequestType;
+import com.avanzada.entity.State;
+import com.avanzada.repository.ChannelRepository;
+import com.avanzada.repository.RequestTypeRepository;
+import com.avanzada.repository.StateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the small, essentially immutable reference tables (state, channel, request_type).
+ * Preloaded at startup, invalidated when one of those entities is written in this process
+ * ({@link ReferenceDataChangeListener}) and reloaded after {@code app.reference-data.ttl-seconds}: by one caller,
+ * while the others keep reading the expired snapshot. Returned entities are copies, never managed by the session
+ * they were loaded in, and must not be modified.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+
+    private final StateRepository stateRepository;
+    private final ChannelRepository channelRepository;
+    private final RequestTypeRepository requestTypeRepository;
+    private final ReferenceDataProperties properties;
+
+    private volatile Snapshot snapshot;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        Snapshot loaded = current();
+        log.info("Reference data cache loaded: {} states, {} channels, {} request types",
+                loaded.states().size(), loaded.channels().size(), loaded.requestTypes().size());
+    }
+
+    public Optional<State> findStateByCode(String code) {
+        return Optional.ofNullable(current().statesByCode().get(code));
+    }
+
+    public Optional<Channel> findChannel(Long id) {
+        return Optional.ofNullable(current().channelsById().get(id));
+    }
+
+    public Optional<RequestType> findRequestType(Long id) {
+        return Optional.ofNullable(current().requestTypesById().get(id));
+    }
+
+    /** Lifecycle transitions resolved against the cached states. */
+    public TransitionTable transitions() {
+        return current().transitions();
+    }
+
+    /** States ordered by display order. */
+    public List<State> states() {
+        return current().states();
+    }
+
+    public List<Channel> channels() {
+        return current().channels();
+    }
+
+    public List<RequestType> requestTypes() {
+        return current().requestTypes();
+    }
+
+    /**
+     * The current rows with their version, which changes whenever any cached row changes and is the HTTP ETag of the
+     * reference-data endpoints; taken together so a response body and its ETag always match.
+     */
+    public Snapshot snapshot() {
+        return current();
+    }
+
+    /** Drops the snapshot; the next lookup reloads from the database. */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * The cached snapshot. Once it has expired one caller reloads it and the others get the expired one meanwhile;
+     * after {@link #invalidate} (or before the first load) they wait for the reload instead.
+     */
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && !expired(s)) {
+            return s;
+        }
+        if (s != null) {
+            if (!reloadLock.tryLock()) {
+                return s;
+            }
+        } else {
+            reloadLock.lock();
+        }
+        try {
+            s = snapshot;
+            if (s == null || expired(s)) {
+                s = load();
+                snapshot = s;
+            }
+            return s;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private boolean expired(Snapshot s) {
+        return s.loadedAt().plus(Duration.ofSeconds(properties.getTtlSeconds())).isBefore(Instant.now());
+    }
+
+    /**
+     * Reads the tables in the caller's session (so rows it wrote itself are seen) and keeps copies, so the cached
+     * entities are not managed by, nor tied to, that session.
+     */
+    private Snapshot load() {
+        List<State> states = stateRepository.findAllByOrderByDisplayOrderAsc().stream()
+                .map(e -> State.builder().id(e.getId()).code(e.getCode()).name(e.getName())
+                        .displayOrder(e.getDisplayOrder()).build())
+                .toList();
+        List<Channel> channels = channelRepository.findAll().stream()
+                .map(e -> Channel.builder().id(e.getId()).code(e.getCode()).name(e.getName()).build())
+                .toList();
+        List<RequestType> requestTypes = requestTypeRepository.findAll().stream()
+                .map(e -> RequestType.builder().id(e.getId()).code(e.getCode()).name(e.getName())
+                        .description(e.getDescription()).build())
+                .toList();
+        StringBuilder fingerprint = new StringBuilder();
+        states.forEach(e -> fingerprint.append(e.getId()).append(e.getCode()).append(e.getName()).append(e.getDisplayOrder()));
+        channels.forEach(e -> fingerprint.append(e.getId()).append(e.getCode()).append(e.getName()));
+        requestTypes.forEach(e -> fingerprint.append(e.getId()).append(e.getCode()).append(e.getName()).append(e.getDescription()));
+        Map<String, State> statesByCode = index(states, State::getCode);
+        return new Snapshot(
+                List.copyOf(states),
+                List.copyOf(channels),
+                List.copyOf(requestTypes),
+                statesByCode,
+                TransitionTable.of(statesByCode),
+                index(channels, Channel::getId),
+                index(requestTypes, RequestType::getId),
+                Integer.toHexString(fingerprint.toString().hashCode()),
+                Instant.now());
+    }
+
+    private static <K, V> Map<K, V> index(List<V> values, Function<V, K> key) {
+        return Collections.unmodifiableMap(values.stream()
+                .collect(Collectors.toMap(key, Function.identity(), (a, b) -> a, LinkedHashMap::new)));
+    }
+
+    public record Snapshot(
+            List<State> states,
+            List<Channel> channels,
+            List<RequestType> requestTypes,
+            Map<String, State> statesByCode,
+            TransitionTable transitions,
+            Map<Long, Channel> channelsById,
+            Map<Long, RequestType> requestTypesById,
+            String version,
+            Instant loadedAt
+    ) {
+    }
+}
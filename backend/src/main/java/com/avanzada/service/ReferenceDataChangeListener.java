@@ -0,0 +1,27 @@
+package com.avanzada.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on State, Channel and RequestType: any write invalidates {@link ReferenceDataCache}.
+ * Instantiated by Spring (Hibernate's bean container); the cache is resolved lazily to avoid a cycle with the
+ * EntityManagerFactory.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataChangeListener {
+
+    private final ObjectProvider<ReferenceDataCache> referenceDataCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        referenceDataCache.ifAvailable(ReferenceDataCache::invalidate);
+    }
+}
@@ -0,0 +1,43 @@
+package com.avanzada.service;
+
+/**
+ * Lifecycle actions on a request (RF-04): the state each one starts from, the state it leads to and the
+ * history action it records. The lifecycle itself is defined here, in code: the {@code state} table only supplies
+ * the rows these codes resolve to ({@link TransitionTable}), so adding a state or a transition means adding an
+ * action here and its changes in {@code RequestLifecycleServiceImpl#prepare}.
+ */
+public enum RequestAction {
+
+    CLASSIFY("classify", "REGISTRADA", "CLASIFICADA", "CLASSIFIED"),
+    ASSIGN("assign", "CLASIFICADA", "EN_ATENCION", "ASSIGNED"),
+    ATTEND("attend", "EN_ATENCION", "ATENDIDA", "ATTENDED"),
+    CLOSE("close", "ATENDIDA", "CERRADA", "CLOSED");
+
+    private final String verb;
+    private final String sourceStateCode;
+    private final String targetStateCode;
+    private final String historyAction;
+
+    RequestAction(String verb, String sourceStateCode, String targetStateCode, String historyAction) {
+        this.verb = verb;
+        this.sourceStateCode = sourceStateCode;
+        this.targetStateCode = targetStateCode;
+        this.historyAction = historyAction;
+    }
+
+    public String verb() {
+        return verb;
+    }
+
+    public String sourceStateCode() {
+        return sourceStateCode;
+    }
+
+    public String targetStateCode() {
+        return targetStateCode;
+    }
+
+    public String historyAction() {
+        return historyAction;
+    }
+}
@@ -0,0 +1,169 @@
+package com.avanzada.service;
+
+import com.avanzada.config.ClassifierProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Local request type and priority classifier: two Naive Bayes models over the {@link SpanishAnalyzer} terms of the
+ * description, trained from classified requests (their final type and priority). Answers only when both
+ * predictions are confident; everything else is left to the LLM. Trained on startup.
+ */
+@Component
+@Slf4j
+public class RequestClassifier {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final String CLASSIFIED = "SELECT r.id, r.description, t.code, r.priority "
+            + "FROM request r JOIN request_type t ON t.id = r.request_type_id "
+            + "WHERE r.priority IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClassifierProperties properties;
+    private volatile Model model;
+
+    public RequestClassifier(DataSource dataSource, ClassifierProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.properties = properties;
+    }
+
+    /** A classified request used for training or evaluation. */
+    public record Example(String description, String requestTypeCode, String priority) {
+    }
+
+    /** Local answer; {@code confidence} is the lower of the two posterior probabilities. */
+    public record Suggestion(String requestTypeCode, String priority, double confidence) {
+    }
+
+    /**
+     * Hold-out results: accuracy of all predictions, and how many test requests would be answered locally
+     * ({@code coverage}, the share of LLM calls saved) with what accuracy.
+     */
+    public record Evaluation(long trainingExamples, int testExamples, double typeAccuracy, double priorityAccuracy,
+                             double coverage, double confidentAccuracy) {
+    }
+
+    private record Model(NaiveBayes types, NaiveBayes priorities, long examples) {
+    }
+
+    /** Confident local suggestion, or empty when the description should go to the LLM. */
+    public Optional<Suggestion> suggest(String description) {
+        Model current = model;
+        if (current == null || !properties.isEnabled() || description == null || description.isBlank()) {
+            return Optional.empty();
+        }
+        Suggestion suggestion = predict(current, description);
+        return suggestion.confidence() >= properties.getMinConfidence() ? Optional.of(suggestion) : Optional.empty();
+    }
+
+    /** Trains on every classified request in one streaming pass and swaps the model in. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void train() {
+        NaiveBayes.Trainer types = new NaiveBayes.Trainer();
+        NaiveBayes.Trainer priorities = new NaiveBayes.Trainer();
+        forEachClassified((id, example) -> add(types, priorities, example));
+        use(types, priorities);
+    }
+
+    /** Trains on {@code examples} only and swaps the model in. */
+    public void train(List<Example> examples) {
+        NaiveBayes.Trainer types = new NaiveBayes.Trainer();
+        NaiveBayes.Trainer priorities = new NaiveBayes.Trainer();
+        examples.forEach(example -> add(types, priorities, example));
+        use(types, priorities);
+    }
+
+    /**
+     * Trains on all classified requests but every {@code holdout-every}-th, and evaluates on those. Does not change
+     * the model in use.
+     */
+    public Evaluation evaluate() {
+        NaiveBayes.Trainer types = new NaiveBayes.Trainer();
+        NaiveBayes.Trainer priorities = new NaiveBayes.Trainer();
+        List<Example> test = new ArrayList<>();
+        forEachClassified((id, example) -> {
+            if (id % properties.getHoldoutEvery() == 0) {
+                test.add(example);
+            } else {
+                add(types, priorities, example);
+            }
+        });
+        Model trained = build(types, priorities);
+        if (trained == null || test.isEmpty()) {
+            return new Evaluation(types.examples(), test.size(), 0, 0, 0, 0);
+        }
+        int typeHits = 0;
+        int priorityHits = 0;
+        int confident = 0;
+        int confidentHits = 0;
+        for (Example example : test) {
+            Suggestion suggestion = predict(trained, example.description());
+            boolean typeHit = suggestion.requestTypeCode().equals(example.requestTypeCode());
+            boolean priorityHit = suggestion.priority().equals(example.priority());
+            typeHits += typeHit ? 1 : 0;
+            priorityHits += priorityHit ? 1 : 0;
+            if (suggestion.confidence() >= properties.getMinConfidence()) {
+                confident++;
+                confidentHits += typeHit && priorityHit ? 1 : 0;
+            }
+        }
+        int n = test.size();
+        return new Evaluation(trained.examples(), n, (double) typeHits / n, (double) priorityHits / n,
+                (double) confident / n, confident > 0 ? (double) confidentHits / confident : 0);
+    }
+
+    private static Suggestion predict(Model model, String description) {
+        List<String> terms = SpanishAnalyzer.terms(description);
+        NaiveBayes.Prediction type = model.types().predict(terms);
+        NaiveBayes.Prediction priority = model.priorities().predict(terms);
+        return new Suggestion(type.label(), priority.label(), Math.min(type.confidence(), priority.confidence()));
+    }
+
+    private static void add(NaiveBayes.Trainer types, NaiveBayes.Trainer priorities, Example example) {
+        List<String> terms = SpanishAnalyzer.terms(example.description());
+        types.add(terms, example.requestTypeCode());
+        priorities.add(terms, example.priority());
+    }
+
+    private void use(NaiveBayes.Trainer types, NaiveBayes.Trainer priorities) {
+        model = build(types, priorities);
+        if (model != null) {
+            log.info("Request classifier trained on {} classified requests", model.examples());
+        } else {
+            log.info("Request classifier not used: {} classified requests, {} needed",
+                    types.examples(), properties.getMinExamples());
+        }
+    }
+
+    /** Null when there are too few examples or a single label. */
+    private Model build(NaiveBayes.Trainer types, NaiveBayes.Trainer priorities) {
+        if (types.examples() < properties.getMinExamples()) {
+            return null;
+        }
+        NaiveBayes typeModel = types.build();
+        NaiveBayes priorityModel = priorities.build();
+        return typeModel != null && priorityModel != null
+                ? new Model(typeModel, priorityModel, types.examples())
+                : null;
+    }
+
+    private void forEachClassified(ClassifiedConsumer consumer) {
+        jdbcTemplate.query(CLASSIFIED, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1),
+                new Example(rs.getString(2), rs.getString(3), rs.getString(4))));
+    }
+
+    @FunctionalInterface
+    private interface ClassifiedConsumer {
+        void accept(long requestId, Example example);
+    }
+}
@@ -0,0 +1,179 @@
+package com.avanzada.service;
+
+import com.avanzada.dto.RequestStatsDto;
+import com.avanzada.entity.Channel;
+import com.avanzada.entity.Request;
+import com.avanzada.entity.RequestType;
+import com.avanzada.entity.State;
+import com.avanzada.entity.User;
+import com.avanzada.repository.RequestCounterRepository;
+import com.avanzada.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pre-aggregated request counts per state, priority, request type, channel and assignee, kept in
+ * {@code request_counter}. Lifecycle writes add their deltas in the same transaction; reads only touch the
+ * counter rows. Each key is spread over {@link #SHARDS} rows ({@code total#3}) so concurrent writers rarely
+ * wait on the same row lock; reads sum the shards. Rebuilt from {@code request} on startup, before the web
+ * server accepts requests, which also picks up rows written outside the service (--init-data, benchmark seeds).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RequestCounters implements SmartInitializingSingleton {
+
+    static final String TOTAL = "total";
+    static final String STATE = "state:";
+    static final String PRIORITY = "priority:";
+    static final String REQUEST_TYPE = "type:";
+    static final String CHANNEL = "channel:";
+    static final String ASSIGNEE = "assignee:";
+    static final String NONE = "NONE";
+    static final int SHARDS = 16;
+    private static final char SHARD = '#';
+
+    private static final String UPSERT = "INSERT INTO request_counter (counter_key, total) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE total = total + VALUES(total)";
+    private static final String[] REBUILD = {
+            "INSERT INTO request_counter (counter_key, total) SELECT 'total', COUNT(*) FROM request",
+            "INSERT INTO request_counter (counter_key, total) "
+                    + "SELECT CONCAT('state:', state_id), COUNT(*) FROM request GROUP BY state_id",
+            "INSERT INTO request_counter (counter_key, total) "
+                    + "SELECT CASE WHEN priority IS NULL THEN 'priority:NONE' ELSE CONCAT('priority:', priority) END, COUNT(*) "
+                    + "FROM request GROUP BY priority",
+            "INSERT INTO request_counter (counter_key, total) "
+                    + "SELECT CONCAT('type:', request_type_id), COUNT(*) FROM request GROUP BY request_type_id",
+            "INSERT INTO request_counter (counter_key, total) "
+                    + "SELECT CONCAT('channel:', channel_id), COUNT(*) FROM request GROUP BY channel_id",
+            "INSERT INTO request_counter (counter_key, total) "
+                    + "SELECT CASE WHEN assigned_to_id IS NULL THEN 'assignee:NONE' ELSE CONCAT('assignee:', assigned_to_id) END, "
+                    + "COUNT(*) FROM request GROUP BY assigned_to_id"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RequestCounterRepository repository;
+    private final ReferenceDataCache referenceData;
+    private final UserRepository userRepository;
+
+    /**
+     * Counter keys {@code request} is counted under. Reads association ids only, so lazy proxies stay uninitialized.
+     */
+    public static List<String> keysOf(Request request) {
+        List<String> keys = new ArrayList<>(6);
+        keys.add(TOTAL);
+        keys.add(STATE + request.getState().getId());
+        keys.add(PRIORITY + (request.getPriority() != null ? request.getPriority().name() : NONE));
+        keys.add(REQUEST_TYPE + request.getRequestType().getId());
+        keys.add(CHANNEL + request.getChannel().getId());
+        keys.add(ASSIGNEE + (request.getAssignedTo() != null ? request.getAssignedTo().getId() : NONE));
+        return keys;
+    }
+
+    /**
+     * Adds to {@code deltas} the move of one request from the {@code before} keys to the {@code after} keys.
+     */
+    public static void move(Map<String, Long> deltas, List<String> before, List<String> after) {
+        before.forEach(key -> deltas.merge(key, -1L, Long::sum));
+        after.forEach(key -> deltas.merge(key, 1L, Long::sum));
+    }
+
+    /**
+     * Applies the deltas in the caller's transaction, one batched upsert into one randomly picked shard. Keys are
+     * written in sorted order so concurrent transactions on the same shard lock its rows in the same order.
+     */
+    public void add(Map<String, Long> deltas) {
+        int shard = ThreadLocalRandom.current().nextInt(SHARDS);
+        List<Object[]> rows = new TreeMap<>(deltas).entrySet().stream()
+                .filter(e -> e.getValue() != 0)
+                .map(e -> new Object[]{e.getKey() + SHARD + shard, e.getValue()})
+                .toList();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /** Replaces every shard with one unsharded row per key. Only while no requests are being served. */
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM request_counter");
+        for (String sql : REBUILD) {
+            jdbcTemplate.update(sql);
+        }
+        log.info("Request counters rebuilt: {} rows", repository.count());
+    }
+
+    /**
+     * Current counts, labelled with codes and user identifiers.
+     */
+    @Transactional(readOnly = true)
+    public RequestStatsDto stats() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT counter_key, total FROM request_counter",
+                (RowCallbackHandler) rs -> counts.merge(unsharded(rs.getString(1)), rs.getLong(2), Long::sum));
+        counts.values().removeIf(total -> total == 0);
+        Map<Long, String> states = labels(referenceData.states(), State::getId, State::getCode);
+        Map<Long, String> types = labels(referenceData.requestTypes(), RequestType::getId, RequestType::getCode);
+        Map<Long, String> channels = labels(referenceData.channels(), Channel::getId, Channel::getCode);
+        List<Long> assigneeIds = counts.keySet().stream()
+                .filter(k -> k.startsWith(ASSIGNEE) && !k.endsWith(NONE))
+                .map(k -> Long.valueOf(k.substring(ASSIGNEE.length())))
+                .toList();
+        Map<Long, String> assignees = labels(userRepository.findAllById(assigneeIds), User::getId, User::getIdentifier);
+
+        return RequestStatsDto.builder()
+                .total(counts.getOrDefault(TOTAL, 0L))
+                .byState(dimension(counts, STATE, states))
+                .byPriority(dimension(counts, PRIORITY, null))
+                .byRequestType(dimension(counts, REQUEST_TYPE, types))
+                .byChannel(dimension(counts, CHANNEL, channels))
+                .byAssignee(dimension(counts, ASSIGNEE, assignees))
+                .build();
+    }
+
+    private static String unsharded(String key) {
+        int shard = key.lastIndexOf(SHARD);
+        return shard < 0 ? key : key.substring(0, shard);
+    }
+
+    private static <T> Map<Long, String> labels(List<T> values, Function<T, Long> id, Function<T, String> label) {
+        return values.stream().collect(Collectors.toMap(id, label, (a, b) -> a));
+    }
+
+    /** Counts of one dimension; ids are replaced by their label when {@code labels} is given. */
+    private static Map<String, Long> dimension(Map<String, Long> counts, String prefix, Map<Long, String> labels) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(prefix))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> {
+                    String value = e.getKey().substring(prefix.length());
+                    if (labels != null && !NONE.equals(value)) {
+                        value = labels.getOrDefault(Long.valueOf(value), value);
+                    }
+                    result.merge(value, e.getValue(), Long::sum);
+                });
+        return result;
+    }
+}
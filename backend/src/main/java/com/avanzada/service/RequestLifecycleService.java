@@ -4,8 +4,11 @@ import com.avanzada.entity.HistoryEntry;
 import com.avanzada.entity.Priority;
 import com.avanzada.entity.Request;
 import com.avanzada.entity.RequestType;
+import com.avanzada.repository.RequestCursor;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Request lifecycle (state machine), prioritization, assignment, and history (RF-03–RF-08).
@@ -16,15 +19,31 @@ public interface RequestLifecycleService {
 
     List<Request> listByFilters(String state, Long requestType, String priority, Long assignedTo, Long requestedById);
 
+    RequestPage listPageByFilters(String state, Long requestType, String priority, Long assignedTo, Long requestedById,
+                                  RequestCursor after, int size);
+
+    void forEachByFilters(String state, Long requestType, String priority, Long assignedTo, Long requestedById,
+                          Consumer<Request> consumer);
+
     Request findRequestOrThrow(Long requestId);
 
-    Request classify(Long requestId, Long requestTypeId, String priority, String priorityJustification, Long userId);
+    Request findRequestDetailOrThrow(Long requestId);
 
-    Request assign(Long requestId, Long assignedToId, Long userId);
+    /**
+     * Requests with all associations the response mapper needs, in the order of {@code requestIds}; ids that no
+     * longer exist are skipped.
+     */
+    List<Request> findRequestDetails(List<Long> requestIds);
 
-    Request attend(Long requestId, Long userId, String observations);
+    /**
+     * Single entry point for lifecycle transitions (classify, assign, attend, close).
+     */
+    Request transition(Long requestId, RequestAction action, TransitionArgs args, Long userId);
 
-    Request close(Long requestId, String closureObservation, Long userId);
+    /**
+     * Applies the same transition to many requests; requests not in the action's source state are reported, not changed.
+     */
+    BulkTransitionResult transitionAll(Collection<Long> requestIds, RequestAction action, TransitionArgs args, Long userId);
 
     Priority suggestPriorityByRequestType(RequestType requestType);
 
@@ -4,13 +4,24 @@ import com.avanzada.entity.*;
 import com.avanzada.exception.InvalidStateTransitionException;
 import com.avanzada.exception.RequestNotFoundException;
 import com.avanzada.repository.*;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implements request lifecycle (state machine), prioritization, assignment, and history (RF-03, RF-04, RF-05, RF-06, RF-08).
@@ -20,28 +31,32 @@ import java.util.List;
 public class RequestLifecycleServiceImpl implements RequestLifecycleService {
 
     private static final String REGISTRADA = "REGISTRADA";
-    private static final String CLASIFICADA = "CLASIFICADA";
-    private static final String EN_ATENCION = "EN_ATENCION";
-    private static final String ATENDIDA = "ATENDIDA";
-    private static final String CERRADA = "CERRADA";
+    /** Requests read per short transaction by {@link #forEachByFilters}. */
+    static final int STREAM_CHUNK_SIZE = 500;
+    /** Requests loaded, flushed and detached together by the bulk transitions (a multiple of the JDBC batch size). */
+    private static final int BULK_CHUNK_SIZE = 500;
 
     private final RequestRepository requestRepository;
-    private final RequestTypeRepository requestTypeRepository;
-    private final ChannelRepository channelRepository;
-    private final StateRepository stateRepository;
+    private final ReferenceDataCache referenceData;
     private final UserRepository userRepository;
     private final HistoryEntryRepository historyEntryRepository;
+    private final EntityManager entityManager;
+    private final RequestCounters counters;
+    private final RequestQueue queue;
+    private final RequestSearch search;
+    private final DuplicateDetector duplicates;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional
     public Request createRequest(String description, Long requestTypeId, Long channelId, Long requestedById, String registeredAt) {
-        RequestType requestType = requestTypeRepository.findById(requestTypeId)
+        RequestType requestType = referenceData.findRequestType(requestTypeId)
                 .orElseThrow(() -> new IllegalArgumentException("Request type not found: " + requestTypeId));
-        Channel channel = channelRepository.findById(channelId)
+        Channel channel = referenceData.findChannel(channelId)
                 .orElseThrow(() -> new IllegalArgumentException("Channel not found: " + channelId));
         User requestedBy = userRepository.findById(requestedById)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + requestedById));
-        State state = stateRepository.findByCode(REGISTRADA)
+        State state = referenceData.findStateByCode(REGISTRADA)
                 .orElseThrow(() -> new IllegalStateException("State REGISTRADA not found; ensure reference data is loaded"));
 
         Instant now = parseInstant(registeredAt);
@@ -56,131 +71,235 @@ public class RequestLifecycleServiceImpl implements RequestLifecycleService {
                 .state(state)
                 .requestedBy(requestedBy)
                 .build();
+        request.setPossibleDuplicateOfId(duplicates.detect(request));
         request = requestRepository.save(request);
-        appendHistory(request, "REGISTERED", requestedBy, "Request registered");
+        HistoryEntry registered = appendHistory(request, "REGISTERED", requestedBy, "Request registered");
+        // signature rows reference the request, so its row must be written first
+        requestRepository.flush();
+        duplicates.record(request);
+        Map<String, Long> deltas = new HashMap<>();
+        RequestCounters.move(deltas, List.of(), RequestCounters.keysOf(request));
+        counters.add(deltas);
+        queue.added(request);
+        search.indexAfterCommit(List.of(
+                new RequestSearch.Document(request.getId(), requestedBy.getId(), 0, description),
+                searchDocument(registered)));
         return request;
     }
 
     @Override
     public List<Request> listByFilters(String state, Long requestType, String priority, Long assignedTo, Long requestedById) {
+        return requestRepository.findByFilter(toFilter(state, requestType, priority, assignedTo, requestedById));
+    }
+
+    /**
+     * Keyset page ordered by registeredAt DESC, id DESC. Reads one extra row to know whether a next page exists.
+     */
+    @Override
+    public RequestPage listPageByFilters(String state, Long requestType, String priority, Long assignedTo,
+                                         Long requestedById, RequestCursor after, int size) {
+        List<Request> rows = requestRepository.findPageByFilter(
+                toFilter(state, requestType, priority, assignedTo, requestedById), after, size + 1);
+        if (rows.size() <= size) {
+            return new RequestPage(rows, null);
+        }
+        List<Request> items = rows.subList(0, size);
+        return new RequestPage(items, RequestCursor.of(items.get(size - 1)));
+    }
+
+    /**
+     * Hands matching requests to {@code consumer} in the order of {@link #listByFilters}, reading them in keyset
+     * chunks of {@link #STREAM_CHUNK_SIZE}, each in its own short transaction. No connection is held while the
+     * consumer runs (e.g. writes to a slow client), and the persistence context is cleared after every chunk.
+     * The chunks are not one snapshot: a request changed meanwhile is seen as of its chunk.
+     */
+    @Override
+    public void forEachByFilters(String state, Long requestType, String priority, Long assignedTo,
+                                 Long requestedById, Consumer<Request> consumer) {
+        RequestFilter filter = toFilter(state, requestType, priority, assignedTo, requestedById);
+        RequestCursor after = null;
+        do {
+            RequestCursor from = after;
+            List<Request> chunk = transactionTemplate.execute(
+                    status -> requestRepository.findPageByFilter(filter, from, STREAM_CHUNK_SIZE));
+            chunk.forEach(consumer);
+            entityManager.clear();
+            after = chunk.size() < STREAM_CHUNK_SIZE ? null : RequestCursor.of(chunk.get(chunk.size() - 1));
+        } while (after != null);
+    }
+
+    private RequestFilter toFilter(String state, Long requestType, String priority, Long assignedTo, Long requestedById) {
         Long stateId = null;
         if (state != null && !state.isBlank()) {
-            stateId = stateRepository.findByCode(state.trim()).map(State::getId).orElse(null);
+            stateId = referenceData.findStateByCode(state.trim()).map(State::getId).orElse(null);
         }
-        Priority priorityEnum = parsePriorityOrNull(priority);
-        return requestRepository.findByFilters(stateId, requestType, priorityEnum, assignedTo, requestedById);
+        return new RequestFilter(stateId, requestType, parsePriorityOrNull(priority), assignedTo, requestedById);
     }
 
     @Override
     public List<HistoryEntry> listHistory(Long requestId) {
-        findRequestOrThrow(requestId);
+        if (!requestRepository.existsById(requestId)) {
+            throw new RequestNotFoundException("Request not found: " + requestId);
+        }
         return historyEntryRepository.findByRequest_IdOrderByOccurredAtDesc(requestId);
     }
 
     /**
-     * Classify request and set priority; transition REGISTRADA → CLASIFICADA (RF-02, RF-03, RF-04).
+     * Moves the request along {@code action} (RF-03, RF-04, RF-05, RF-08): checks its current state against the
+     * transition table, applies the action's changes and records the history entry.
      */
     @Override
     @Transactional
-    public Request classify(Long requestId, Long requestTypeId, String priority, String priorityJustification, Long userId) {
-        Priority priorityEnum = parsePriorityRequired(priority);
-        return classify(requestId, requestTypeId, priorityEnum, priorityJustification, userId);
+    public Request transition(Long requestId, RequestAction action, TransitionArgs args, Long userId) {
+        Request request = findRequestOrThrow(requestId);
+        TransitionTable transitions = referenceData.transitions();
+        transitions.check(action, request.getState());
+        return apply(request, prepare(action, transitions.target(action), args, userId));
     }
 
-    private Request classify(Long requestId, Long requestTypeId, Priority priority, String priorityJustification, Long userId) {
-        Request request = findRequestOrThrow(requestId);
-        requireState(request, REGISTRADA, "classify");
+    @Override
+    @Transactional
+    public BulkTransitionResult transitionAll(Collection<Long> requestIds, RequestAction action, TransitionArgs args,
+                                              Long userId) {
+        TransitionTable transitions = referenceData.transitions();
+        return applyToAll(requestIds, action, transitions, prepare(action, transitions.target(action), args, userId));
+    }
 
-        RequestType requestType = requestTypeRepository.findById(requestTypeId)
-                .orElseThrow(() -> new IllegalArgumentException("Request type not found: " + requestTypeId));
+    /**
+     * Validates the arguments and resolves the users and reference data of {@code action} once; the returned
+     * function applies it to a request that is in the action's source state. One case per {@link RequestAction}:
+     * each action changes different fields.
+     */
+    private Function<Request, HistoryEntry> prepare(RequestAction action, State target, TransitionArgs args, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-
-        State clasificada = stateRepository.findByCode(CLASIFICADA)
-                .orElseThrow(() -> new IllegalStateException("State CLASIFICADA not found"));
-
-        request.setRequestType(requestType);
-        request.setPriority(priority);
-        request.setPriorityJustification(priorityJustification != null ? priorityJustification : "");
-        request.setState(clasificada);
-        request = requestRepository.save(request);
-        appendHistory(request, "CLASSIFIED", user,
-                "Type: " + requestType.getCode() + ", Priority: " + priority + (priorityJustification != null && !priorityJustification.isBlank() ? ". " + priorityJustification : ""));
-        return request;
+        return switch (action) {
+            case CLASSIFY -> classify(target, args, user);
+            case ASSIGN -> assign(target, args, user);
+            case ATTEND -> attend(target, args, user);
+            case CLOSE -> close(target, args, user);
+        };
     }
 
-    /**
-     * Assign responsible; transition CLASIFICADA → EN_ATENCION (RF-05, RF-04). Validates assignee is active.
-     */
-    @Override
-    @Transactional
-    public Request assign(Long requestId, Long assignedToId, Long userId) {
-        Request request = findRequestOrThrow(requestId);
-        requireState(request, CLASIFICADA, "assign");
+    /** REGISTRADA → CLASIFICADA: sets type and priority (RF-02, RF-03). */
+    private Function<Request, HistoryEntry> classify(State target, TransitionArgs args, User user) {
+        Priority priority = parsePriorityRequired(args.priority());
+        RequestType requestType = referenceData.findRequestType(args.requestTypeId())
+                .orElseThrow(() -> new IllegalArgumentException("Request type not found: " + args.requestTypeId()));
+        String justification = args.observations();
+        String observations = "Type: " + requestType.getCode() + ", Priority: " + priority
+                + (justification != null && !justification.isBlank() ? ". " + justification : "");
+
+        return request -> {
+            request.setRequestType(requestType);
+            request.setPriority(priority);
+            request.setPriorityJustification(justification != null ? justification : "");
+            request.setState(target);
+            return historyEntry(request, RequestAction.CLASSIFY.historyAction(), user, observations);
+        };
+    }
 
+    /** CLASIFICADA → EN_ATENCION: sets the responsible, who must be active (RF-05). */
+    private Function<Request, HistoryEntry> assign(State target, TransitionArgs args, User user) {
+        Long assignedToId = args.assignedToId();
         User assignee = userRepository.findById(assignedToId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + assignedToId));
         if (Boolean.FALSE.equals(assignee.getActive())) {
             throw new IllegalArgumentException("Cannot assign to inactive user: " + assignedToId);
         }
-        User performingUser = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        String observations = "Assigned to " + assignee.getName() + " (" + assignee.getIdentifier() + ")";
 
-        State enAtencion = stateRepository.findByCode(EN_ATENCION)
-                .orElseThrow(() -> new IllegalStateException("State EN_ATENCION not found"));
-
-        request.setAssignedTo(assignee);
-        request.setState(enAtencion);
-        request = requestRepository.save(request);
-        appendHistory(request, "ASSIGNED", performingUser, "Assigned to " + assignee.getName() + " (" + assignee.getIdentifier() + ")");
-        return request;
+        return request -> {
+            request.setAssignedTo(assignee);
+            request.setState(target);
+            return historyEntry(request, RequestAction.ASSIGN.historyAction(), user, observations);
+        };
     }
 
-    /**
-     * Mark as attended; transition EN_ATENCION → ATENDIDA (RF-04).
-     */
-    @Override
-    @Transactional
-    public Request attend(Long requestId, Long userId, String observations) {
-        Request request = findRequestOrThrow(requestId);
-        requireState(request, EN_ATENCION, "attend");
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        State atendida = stateRepository.findByCode(ATENDIDA)
-                .orElseThrow(() -> new IllegalStateException("State ATENDIDA not found"));
+    /** EN_ATENCION → ATENDIDA, with optional observations. */
+    private Function<Request, HistoryEntry> attend(State target, TransitionArgs args, User user) {
+        String observations = args.observations() != null ? args.observations() : "";
 
-        request.setState(atendida);
-        request = requestRepository.save(request);
-        appendHistory(request, "ATTENDED", user, observations != null ? observations : "");
-        return request;
+        return request -> {
+            request.setState(target);
+            return historyEntry(request, RequestAction.ATTEND.historyAction(), user, observations);
+        };
     }
 
-    /**
-     * Close request; transition ATENDIDA → CERRADA only, with required closure observation (RF-08).
-     */
-    @Override
-    @Transactional
-    public Request close(Long requestId, String closureObservation, Long userId) {
-        Request request = findRequestOrThrow(requestId);
-        requireState(request, ATENDIDA, "close");
-
+    /** ATENDIDA → CERRADA, with a required closure observation (RF-08). */
+    private Function<Request, HistoryEntry> close(State target, TransitionArgs args, User user) {
+        String closureObservation = args.observations();
         if (closureObservation == null || closureObservation.isBlank()) {
             throw new IllegalArgumentException("Closure observation is required");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        State cerrada = stateRepository.findByCode(CERRADA)
-                .orElseThrow(() -> new IllegalStateException("State CERRADA not found"));
+        return request -> {
+            request.setClosureObservation(closureObservation);
+            request.setState(target);
+            return historyEntry(request, RequestAction.CLOSE.historyAction(), user, closureObservation);
+        };
+    }
 
-        request.setClosureObservation(closureObservation);
-        request.setState(cerrada);
+    private Request apply(Request request, Function<Request, HistoryEntry> transition) {
+        List<String> countedUnder = RequestCounters.keysOf(request);
+        HistoryEntry entry = transition.apply(request);
         request = requestRepository.save(request);
-        appendHistory(request, "CLOSED", user, closureObservation);
+        historyEntryRepository.save(entry);
+        Map<String, Long> deltas = new HashMap<>();
+        RequestCounters.move(deltas, countedUnder, RequestCounters.keysOf(request));
+        counters.add(deltas);
+        queue.changed(List.of(request));
+        search.indexAfterCommit(List.of(searchDocument(entry)));
         return request;
     }
 
+    /**
+     * Applies {@code transition} to every request that is in the source state of {@code action}; the others are reported
+     * as failed items. Requests are loaded {@link #BULK_CHUNK_SIZE} at a time with their state; updates and
+     * history rows are written in JDBC batches when each chunk is flushed, and the chunk's queue rows in one batched
+     * update, then the chunk is detached. Counter deltas are summed over all chunks and written once.
+     */
+    private BulkTransitionResult applyToAll(Collection<Long> requestIds, RequestAction action, TransitionTable transitions,
+                                            Function<Request, HistoryEntry> transition) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(requestIds));
+        List<BulkTransitionResult.Item> items = new ArrayList<>(ids.size());
+        Map<String, Long> deltas = new HashMap<>();
+        List<RequestSearch.Document> documents = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            Map<Long, Request> requests = requestRepository.findByIdIn(chunk).stream()
+                    .collect(Collectors.toMap(Request::getId, Function.identity()));
+            List<HistoryEntry> history = new ArrayList<>(chunk.size());
+            List<Request> changed = new ArrayList<>(chunk.size());
+            for (Long id : chunk) {
+                Request request = requests.get(id);
+                if (request == null) {
+                    items.add(BulkTransitionResult.Item.failed(id, "Request not found: " + id));
+                    continue;
+                }
+                try {
+                    transitions.check(action, request.getState());
+                } catch (InvalidStateTransitionException e) {
+                    items.add(BulkTransitionResult.Item.failed(id, e.getMessage()));
+                    continue;
+                }
+                List<String> countedUnder = RequestCounters.keysOf(request);
+                history.add(transition.apply(request));
+                changed.add(request);
+                RequestCounters.move(deltas, countedUnder, RequestCounters.keysOf(request));
+                items.add(BulkTransitionResult.Item.succeeded(id, request.getState().getCode()));
+            }
+            historyEntryRepository.saveAll(history);
+            history.forEach(entry -> documents.add(searchDocument(entry)));
+            queue.changed(changed);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        counters.add(deltas);
+        search.indexAfterCommit(documents);
+        return new BulkTransitionResult(items);
+    }
+
     @Override
     public Priority suggestPriorityByRequestType(RequestType requestType) {
         if (requestType == null || requestType.getCode() == null) {
@@ -203,26 +322,46 @@ public class RequestLifecycleServiceImpl implements RequestLifecycleService {
                 .orElseThrow(() -> new RequestNotFoundException("Request not found: " + requestId));
     }
 
-    private void requireState(Request request, String expectedCode, String action) {
-        if (request.getState() == null || !expectedCode.equals(request.getState().getCode())) {
-            String current = request.getState() != null ? request.getState().getCode() : "null";
-            if (CERRADA.equals(current)) {
-                throw new InvalidStateTransitionException("Request is closed and cannot be modified");
-            }
-            throw new InvalidStateTransitionException(
-                    "Cannot " + action + ": request is in state " + current + ", expected " + expectedCode);
+    /**
+     * Loads the request with all associations the response mapper needs in a single statement (read endpoints).
+     */
+    @Override
+    public Request findRequestDetailOrThrow(Long requestId) {
+        return requestRepository.findDetailedById(requestId)
+                .orElseThrow(() -> new RequestNotFoundException("Request not found: " + requestId));
+    }
+
+    @Override
+    public List<Request> findRequestDetails(List<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return List.of();
         }
+        Map<Long, Request> byId = requestRepository.findDetailedByIdIn(requestIds).stream()
+                .collect(Collectors.toMap(Request::getId, Function.identity()));
+        return requestIds.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 
-    private void appendHistory(Request request, String action, User user, String observations) {
-        HistoryEntry entry = HistoryEntry.builder()
+    private HistoryEntry appendHistory(Request request, String action, User user, String observations) {
+        return historyEntryRepository.save(historyEntry(request, action, user, observations));
+    }
+
+    /**
+     * Search text a saved history entry adds to its request (ids only, so lazy proxies stay uninitialized).
+     */
+    private static RequestSearch.Document searchDocument(HistoryEntry entry) {
+        Request request = entry.getRequest();
+        return new RequestSearch.Document(request.getId(), request.getRequestedBy().getId(), entry.getId(),
+                entry.getObservations());
+    }
+
+    private static HistoryEntry historyEntry(Request request, String action, User user, String observations) {
+        return HistoryEntry.builder()
                 .request(request)
                 .occurredAt(Instant.now())
                 .action(action)
                 .user(user)
                 .observations(observations != null && !observations.isBlank() ? observations : null)
                 .build();
-        historyEntryRepository.save(entry);
     }
 
     private static Instant parseInstant(String value) {
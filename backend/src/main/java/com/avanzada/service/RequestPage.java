@@ -0,0 +1,12 @@
+package com.avanzada.service;
+
+import com.avanzada.entity.Request;
+import com.avanzada.repository.RequestCursor;
+
+import java.util.List;
+
+/**
+ * One keyset page of requests. {@code next} is null when there are no more rows.
+ */
+public record RequestPage(List<Request> items, RequestCursor next) {
+}
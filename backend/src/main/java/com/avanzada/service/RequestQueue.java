@@ -0,0 +1,149 @@
+package com.avanzada.service;
+
+import com.avanzada.entity.Priority;
+import com.avanzada.entity.Request;
+import com.avanzada.entity.RequestQueueItem;
+import com.avanzada.entity.RequestType;
+import com.avanzada.repository.RequestCursor;
+import com.avanzada.repository.RequestQueueFilter;
+import com.avanzada.repository.RequestQueueItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Staff work queue read model ({@code request_queue_item}). Lifecycle writes keep it in step in the same
+ * transaction as the request; queue pages are read from it alone, without joining the reference tables.
+ * Rebuilt from {@code request} on startup, before the web server accepts requests, which also picks up rows
+ * written outside the service (--init-data, benchmark seeds).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RequestQueue implements SmartInitializingSingleton {
+
+    private static final String INSERT = "INSERT INTO request_queue_item (request_id, state_code, priority, "
+            + "request_type_code, assigned_to_id, assigned_to_name, requested_by_id, requested_by_name, "
+            + "registered_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    /** Assignee name is read in the statement, so a transition never has to initialize the assignee proxy. */
+    private static final String UPDATE = "UPDATE request_queue_item SET state_code = ?, priority = ?, "
+            + "request_type_code = ?, assigned_to_id = ?, "
+            + "assigned_to_name = (SELECT u.name FROM app_user u WHERE u.id = ?), updated_at = ? "
+            + "WHERE request_id = ?";
+    private static final String REBUILD = "INSERT INTO request_queue_item (request_id, state_code, priority, "
+            + "request_type_code, assigned_to_id, assigned_to_name, requested_by_id, requested_by_name, "
+            + "registered_at, updated_at) "
+            + "SELECT r.id, s.code, r.priority, t.code, r.assigned_to_id, a.name, r.requested_by_id, u.name, "
+            + "r.registered_at, r.updated_at "
+            + "FROM request r "
+            + "JOIN state s ON s.id = r.state_id "
+            + "JOIN request_type t ON t.id = r.request_type_id "
+            + "JOIN app_user u ON u.id = r.requested_by_id "
+            + "LEFT JOIN app_user a ON a.id = r.assigned_to_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RequestQueueItemRepository repository;
+    private final ReferenceDataCache referenceData;
+
+    /** Adds the queue row of a new request; {@code requestedBy} must be loaded. */
+    public void added(Request request) {
+        jdbcTemplate.update(INSERT,
+                request.getId(),
+                request.getState().getCode(),
+                request.getPriority() != null ? request.getPriority().name() : null,
+                typeCode(request),
+                null,
+                null,
+                request.getRequestedBy().getId(),
+                request.getRequestedBy().getName(),
+                Timestamp.from(request.getRegisteredAt()),
+                Timestamp.from(Instant.now()));
+    }
+
+    /** Rewrites the columns a transition can change, one batched update for all {@code requests}. */
+    public void changed(Collection<Request> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = requests.stream()
+                .map(r -> {
+                    Long assigneeId = r.getAssignedTo() != null ? r.getAssignedTo().getId() : null;
+                    return new Object[]{
+                            r.getState().getCode(),
+                            r.getPriority() != null ? r.getPriority().name() : null,
+                            typeCode(r),
+                            assigneeId,
+                            assigneeId,
+                            now,
+                            r.getId()};
+                })
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATE, rows);
+    }
+
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /** Replaces every queue row. Only while no requests are being served. */
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM request_queue_item");
+        int rows = jdbcTemplate.update(REBUILD);
+        log.info("Request queue rebuilt: {} rows", rows);
+    }
+
+    /**
+     * Keyset page ordered by registeredAt DESC, requestId DESC. Reads one extra row to know whether a next
+     * page exists. {@code requestTypeId} is matched through its code; an unknown type matches nothing.
+     */
+    @Transactional(readOnly = true)
+    public RequestQueuePage page(String state, Long requestTypeId, String priority, Long assignedTo,
+                                 Long requestedById, RequestCursor after, int size) {
+        String typeCode = null;
+        if (requestTypeId != null) {
+            typeCode = referenceData.findRequestType(requestTypeId).map(RequestType::getCode).orElse(null);
+            if (typeCode == null) {
+                return new RequestQueuePage(List.of(), null);
+            }
+        }
+        RequestQueueFilter filter = new RequestQueueFilter(
+                state != null && !state.isBlank() ? state.trim() : null,
+                typeCode, parsePriorityOrNull(priority), assignedTo, requestedById);
+        List<RequestQueueItem> rows = repository.findPage(filter, after, size + 1);
+        if (rows.size() <= size) {
+            return new RequestQueuePage(rows, null);
+        }
+        List<RequestQueueItem> items = rows.subList(0, size);
+        RequestQueueItem last = items.get(size - 1);
+        return new RequestQueuePage(items, new RequestCursor(last.getRegisteredAt(), last.getRequestId()));
+    }
+
+    /** Type code from the reference cache, so the request type proxy stays uninitialized. */
+    private String typeCode(Request request) {
+        Long typeId = request.getRequestType().getId();
+        return referenceData.findRequestType(typeId)
+                .map(RequestType::getCode)
+                .orElseThrow(() -> new IllegalStateException("Request type not found: " + typeId));
+    }
+
+    private static Priority parsePriorityOrNull(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Priority.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.avanzada.service;
+
+import com.avanzada.entity.RequestQueueItem;
+import com.avanzada.repository.RequestCursor;
+
+import java.util.List;
+
+/**
+ * One keyset page of the work queue. {@code next} is null when there are no more rows.
+ */
+public record RequestQueuePage(List<RequestQueueItem> items, RequestCursor next) {
+}
@@ -0,0 +1,222 @@
+package com.avanzada.service;
+
+import com.avanzada.config.SearchProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Full-text search over request descriptions and history observations (which carry the priority
+ * justification and the closure observation). Backed by an in-process {@link InvertedIndex} that the lifecycle
+ * service extends after each commit, so rolled-back changes are never searchable. On startup the index is loaded
+ * from {@code app.search.segment-file} and caught up with the requests and history rows added since it was saved;
+ * without a usable segment it is rebuilt from the database. Loading happens once all singletons exist, before the
+ * web server starts: documents indexed after commit while a new index was being built would otherwise go to the
+ * index being replaced and be lost.
+ */
+@Component
+@Slf4j
+public class RequestSearch implements SmartInitializingSingleton {
+
+    private static final String REQUEST_TEXT = "SELECT r.id, r.requested_by_id, r.description, h.id, h.observations "
+            + "FROM request r LEFT JOIN history_entry h ON h.request_id = r.id AND h.observations IS NOT NULL "
+            + "ORDER BY r.id, h.id";
+    /** New requests with all their history, then new history of older requests. */
+    private static final String REQUEST_TEXT_SINCE = "SELECT r.id, r.requested_by_id, r.description, h.id, h.observations "
+            + "FROM request r LEFT JOIN history_entry h ON h.request_id = r.id AND h.observations IS NOT NULL "
+            + "WHERE r.id > ? "
+            + "UNION ALL "
+            + "SELECT r.id, r.requested_by_id, NULL, h.id, h.observations "
+            + "FROM history_entry h JOIN request r ON r.id = h.request_id "
+            + "WHERE h.id > ? AND r.id <= ? AND h.observations IS NOT NULL "
+            + "ORDER BY 1, 4";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SearchProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex index = new InvertedIndex();
+
+    public RequestSearch(DataSource dataSource, SearchProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.properties = properties;
+    }
+
+    /**
+     * Text added to a request's document by a lifecycle change; {@code historyId} is 0 for the description.
+     */
+    public record Document(long requestId, long requesterId, long historyId, String text) {
+    }
+
+    /**
+     * Indexes {@code documents} once the current transaction commits, or immediately when there is none.
+     */
+    public void indexAfterCommit(List<Document> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(documents);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(documents);
+            }
+        });
+    }
+
+    void index(List<Document> documents) {
+        lock.writeLock().lock();
+        try {
+            documents.forEach(d -> index.add(d.requestId(), d.requesterId(), d.historyId(), d.text()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked matches of {@code query}; when {@code requesterId} is not null only that requester's requests.
+     */
+    public RequestSearchResult search(String query, Long requesterId, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, requesterId, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    /**
+     * Loads the saved segment and indexes only newer rows; rebuilds from the database when there is no usable
+     * segment (missing, other version, or ahead of the database, e.g. after the database was recreated). Only
+     * while no requests are being served.
+     */
+    void load() {
+        InvertedIndex loaded = readSegment();
+        Long maxRequestId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM request", Long.class);
+        if (loaded != null && loaded.maxRequestId() > maxRequestId) {
+            log.warn("Search segment is ahead of the database; rebuilding");
+            loaded = null;
+        }
+        if (loaded == null) {
+            rebuild();
+        } else {
+            int before = loaded.documentCount();
+            jdbcTemplate.query(REQUEST_TEXT_SINCE, indexing(loaded),
+                    loaded.maxRequestId(), loaded.maxHistoryId(), loaded.maxRequestId());
+            swap(loaded);
+            log.info("Search index loaded: {} requests ({} new), {} terms",
+                    loaded.documentCount(), loaded.documentCount() - before, loaded.termCount());
+        }
+    }
+
+    /**
+     * Builds a new index from {@code request} and {@code history_entry} in one streaming pass and swaps it in.
+     * Only while no requests are being served.
+     */
+    void rebuild() {
+        InvertedIndex rebuilt = new InvertedIndex();
+        jdbcTemplate.query(REQUEST_TEXT, indexing(rebuilt));
+        swap(rebuilt);
+        log.info("Search index rebuilt: {} requests, {} terms", rebuilt.documentCount(), rebuilt.termCount());
+    }
+
+    /**
+     * Writes the index to the segment file (a temporary file moved into place, so a crash never leaves a partial
+     * segment behind).
+     */
+    @PreDestroy
+    public void save() {
+        Path file = segmentFile();
+        if (file == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                index.write(out);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Search index saved to {}: {} requests", file, index.documentCount());
+        } catch (IOException e) {
+            log.warn("Could not save search index to {}: {}", file, e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private InvertedIndex readSegment() {
+        Path file = segmentFile();
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return InvertedIndex.read(in);
+        } catch (IOException e) {
+            log.warn("Ignoring search segment {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path segmentFile() {
+        String file = properties.getSegmentFile();
+        return file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    /** Adds each row's description (first row of a request only) and history observation to {@code target}. */
+    private static RowCallbackHandler indexing(InvertedIndex target) {
+        long[] current = {-1};
+        return rs -> {
+            long requestId = rs.getLong(1);
+            long requesterId = rs.getLong(2);
+            if (requestId != current[0]) {
+                current[0] = requestId;
+                String description = rs.getString(3);
+                if (description != null) {
+                    target.add(requestId, requesterId, 0, description);
+                }
+            }
+            String observations = rs.getString(5);
+            if (observations != null) {
+                target.add(requestId, requesterId, rs.getLong(4), observations);
+            }
+        };
+    }
+
+    private void swap(InvertedIndex replacement) {
+        lock.writeLock().lock();
+        try {
+            index = replacement;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.avanzada.service;
+
+import java.util.List;
+
+/**
+ * One page of a full-text search: the number of matching requests and the requested hits, best first.
+ */
+public record RequestSearchResult(int total, List<Hit> hits) {
+
+    public record Hit(long requestId, float score) {
+    }
+}
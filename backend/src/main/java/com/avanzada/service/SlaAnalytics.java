@@ -0,0 +1,278 @@
+package com.avanzada.service;
+
+import com.avanzada.config.AnalyticsProperties;
+import com.avanzada.dto.SlaReportDto;
+import com.avanzada.entity.RequestType;
+import com.avanzada.entity.State;
+import com.avanzada.entity.User;
+import com.avanzada.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * SLA and aging analytics from a single streaming pass over {@code history_entry} (ordered by id, joined to its
+ * request). Keeps the position of the last processed row and the open requests in memory, so each refresh only
+ * reads history rows added since the previous one. History ids are not in commit order, so each refresh also reads
+ * again the last {@code app.analytics.rescan-ids} ids and picks up the rows committed late among them, skipping
+ * the ids already processed. Rows committed even later, below the re-read window, are counted (and logged) as
+ * missed by comparing the number of rows below the window with the number processed there. The pass is a plain
+ * consistent read (no locking reads), so it does not block lifecycle writes. The first report is built on
+ * startup, before the web server accepts requests; afterwards one caller catches up while the others get the
+ * last report.
+ */
+@Component
+@Slf4j
+public class SlaAnalytics implements SmartInitializingSingleton {
+
+    private static final String REGISTRADA = "REGISTRADA";
+    private static final String CERRADA = "CERRADA";
+    private static final String NONE = "NONE";
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_INSTANT;
+    private static final String HISTORY_SINCE = "SELECT h.id, h.request_id, h.action, h.occurred_at, "
+            + "r.registered_at, r.request_type_id, r.assigned_to_id "
+            + "FROM history_entry h JOIN request r ON r.id = h.request_id "
+            + "WHERE h.id > ? ORDER BY h.id";
+    private static final String COUNT_UP_TO = "SELECT COUNT(*) FROM history_entry WHERE id <= ?";
+
+    /** State a request is in after each history action. */
+    private static final Map<String, String> STATE_AFTER_ACTION = stateAfterAction();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AnalyticsProperties properties;
+    private final ReferenceDataCache referenceData;
+    private final UserRepository userRepository;
+
+    private long watermark;
+    private long processed;
+    /** Processed rows whose ids fell below the re-read window. */
+    private long processedBelowWindow;
+    private long missed;
+    /** Ids processed within the re-read window below {@link #watermark}. */
+    private final NavigableSet<Long> processedIds = new TreeSet<>();
+    private final Map<Long, OpenRequest> openRequests = new HashMap<>();
+    private final Map<String, DurationHistogram> dwellByState = new LinkedHashMap<>();
+    private DurationHistogram timeToClose = new DurationHistogram();
+
+    private volatile SlaReportDto report;
+    private volatile Instant refreshedAt = Instant.EPOCH;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public SlaAnalytics(DataSource dataSource, AnalyticsProperties properties, ReferenceDataCache referenceData,
+                        UserRepository userRepository) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.properties = properties;
+        this.referenceData = referenceData;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * Latest report. When it is older than {@code app.analytics.refresh-seconds} the caller first catches up with
+     * new history, unless another caller is already doing so; then it gets the report as it is. Waits only while
+     * there is no report yet.
+     */
+    public SlaReportDto report() {
+        if (report == null) {
+            refresh();
+        } else if (refreshedAt.plusSeconds(properties.getRefreshSeconds()).isBefore(Instant.now())
+                && refreshLock.tryLock()) {
+            try {
+                catchUp();
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        return report;
+    }
+
+    /** Drops all state; the next refresh reads the whole history again. */
+    public void reset() {
+        refreshLock.lock();
+        try {
+            clear();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void clear() {
+        watermark = 0;
+        processed = 0;
+        processedBelowWindow = 0;
+        missed = 0;
+        processedIds.clear();
+        openRequests.clear();
+        dwellByState.clear();
+        timeToClose = new DurationHistogram();
+        report = null;
+        refreshedAt = Instant.EPOCH;
+    }
+
+    void refresh() {
+        refreshLock.lock();
+        try {
+            catchUp();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void catchUp() {
+        long before = processed;
+        jdbcTemplate.query(HISTORY_SINCE, (RowCallbackHandler) this::accept,
+                Math.max(0, watermark - properties.getRescanIds()));
+        countMissed();
+        Instant now = Instant.now();
+        report = buildReport(now);
+        refreshedAt = now;
+        log.debug("SLA analytics refreshed: {} new history entries", processed - before);
+    }
+
+    /** Rows below the re-read window that were never read: committed after the window had moved past them. */
+    private void countMissed() {
+        long windowStart = watermark - properties.getRescanIds();
+        if (windowStart <= 0) {
+            return;
+        }
+        Long below = jdbcTemplate.queryForObject(COUNT_UP_TO, Long.class, windowStart);
+        long nowMissed = Math.max(0, (below != null ? below : 0) - processedBelowWindow);
+        if (nowMissed > missed) {
+            log.warn("SLA analytics missed {} history entries committed more than {} ids behind the newest one; "
+                    + "raise app.analytics.rescan-ids", nowMissed - missed, properties.getRescanIds());
+        }
+        missed = nowMissed;
+    }
+
+    private void accept(ResultSet rs) throws SQLException {
+        long id = rs.getLong(1);
+        if (!processedIds.add(id)) {
+            return;
+        }
+        watermark = Math.max(watermark, id);
+        while (processedIds.first() <= watermark - properties.getRescanIds()) {
+            processedIds.pollFirst();
+            processedBelowWindow++;
+        }
+        processed++;
+        String state = STATE_AFTER_ACTION.get(rs.getString(3));
+        if (state == null) {
+            return;
+        }
+        long requestId = rs.getLong(2);
+        Instant occurredAt = rs.getTimestamp(4).toInstant();
+        OpenRequest previous = openRequests.get(requestId);
+        if (previous != null) {
+            dwellByState.computeIfAbsent(previous.stateCode(), s -> new DurationHistogram())
+                    .add(Duration.between(previous.enteredAt(), occurredAt).toSeconds());
+        }
+        Instant registeredAt = rs.getTimestamp(5).toInstant();
+        if (CERRADA.equals(state)) {
+            openRequests.remove(requestId);
+            timeToClose.add(Duration.between(registeredAt, occurredAt).toSeconds());
+            return;
+        }
+        openRequests.put(requestId, new OpenRequest(state, occurredAt, registeredAt,
+                rs.getLong(6), rs.getObject(7, Long.class)));
+    }
+
+    private SlaReportDto buildReport(Instant now) {
+        Instant overdueBefore = now.minus(Duration.ofHours(properties.getOverdueAfterHours()));
+        Map<Long, Long> overdueByType = new HashMap<>();
+        Map<Long, Long> overdueByAssignee = new HashMap<>();
+        long overdue = 0;
+        for (OpenRequest open : openRequests.values()) {
+            if (open.registeredAt().isBefore(overdueBefore)) {
+                overdue++;
+                overdueByType.merge(open.requestTypeId(), 1L, Long::sum);
+                overdueByAssignee.merge(open.assigneeId(), 1L, Long::sum);
+            }
+        }
+
+        Map<Long, String> typeCodes = referenceData.requestTypes().stream()
+                .collect(Collectors.toMap(RequestType::getId, RequestType::getCode, (a, b) -> a));
+        Map<Long, String> assignees = userRepository.findAllById(
+                        overdueByAssignee.keySet().stream().filter(Objects::nonNull).toList()).stream()
+                .collect(Collectors.toMap(User::getId, User::getIdentifier, (a, b) -> a));
+
+        List<SlaReportDto.StateDwell> dwell = new ArrayList<>();
+        for (State state : referenceData.states()) {
+            DurationHistogram histogram = dwellByState.get(state.getCode());
+            if (histogram != null) {
+                dwell.add(SlaReportDto.StateDwell.builder()
+                        .state(state.getCode())
+                        .durations(durations(histogram))
+                        .build());
+            }
+        }
+
+        return SlaReportDto.builder()
+                .refreshedAt(ISO.format(now))
+                .historyEntriesProcessed(processed)
+                .historyEntriesMissed(missed)
+                .dwellByState(dwell)
+                .timeToClose(durations(timeToClose))
+                .overdueAfterHours(properties.getOverdueAfterHours())
+                .openRequests(openRequests.size())
+                .overdue(overdue)
+                .overdueByRequestType(labelled(overdueByType, id -> typeCodes.getOrDefault(id, String.valueOf(id))))
+                .overdueByAssignee(labelled(overdueByAssignee,
+                        id -> id == null ? NONE : assignees.getOrDefault(id, String.valueOf(id))))
+                .build();
+    }
+
+    private static SlaReportDto.Durations durations(DurationHistogram histogram) {
+        return SlaReportDto.Durations.builder()
+                .count(histogram.count())
+                .meanSeconds(histogram.meanSeconds())
+                .medianSeconds(histogram.percentileSeconds(0.5))
+                .p90Seconds(histogram.percentileSeconds(0.9))
+                .build();
+    }
+
+    private static Map<String, Long> labelled(Map<Long, Long> counts, Function<Long, String> label) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .forEach(e -> result.merge(label.apply(e.getKey()), e.getValue(), Long::sum));
+        return result;
+    }
+
+    private static Map<String, String> stateAfterAction() {
+        Map<String, String> states = new HashMap<>();
+        states.put("REGISTERED", REGISTRADA);
+        for (RequestAction action : RequestAction.values()) {
+            states.put(action.historyAction(), action.targetStateCode());
+        }
+        return Map.copyOf(states);
+    }
+
+    private record OpenRequest(String stateCode, Instant enteredAt, Instant registeredAt, Long requestTypeId,
+                               Long assigneeId) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.avanzada.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns Spanish text into index terms: lowercase, accents folded ("Homologación" and "homologacion" match; ñ is
+ * kept), stop words dropped and a light stemmer applied that removes plural and gender endings ("cupos" and
+ * "cupo" match). Used for both indexed text and queries so they produce the same terms.
+ */
+final class SpanishAnalyzer {
+
+    /** Bumped whenever the produced terms change, so persisted segments built with older terms are discarded. */
+    static final int VERSION = 1;
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MIN_STEM_LENGTH = 4;
+
+    /** Common Spanish function words, in folded form. */
+    private static final Set<String> STOP_WORDS = Set.of(
+            "al", "algo", "algunas", "algunos", "ante", "antes", "como", "con", "contra", "cual", "cuando", "de",
+            "del", "desde", "donde", "durante", "el", "ella", "ellas", "ellos", "en", "entre", "era", "es", "esa",
+            "esas", "ese", "eso", "esos", "esta", "estaba", "estan", "estar", "estas", "este", "esto", "estos",
+            "fue", "fueron", "ha", "hay", "han", "hasta", "la", "las", "le", "les", "lo", "los", "me", "mi", "mis",
+            "mas", "muy", "ni", "no", "nos", "nosotros", "otra", "otras", "otro", "otros", "para", "pero", "poco",
+            "por", "porque", "que", "quien", "quienes", "se", "ser", "si", "sin", "sobre", "son", "su", "sus",
+            "tambien", "te", "ti", "tu", "tus", "un", "una", "unas", "uno", "unos", "ya", "yo");
+
+    private SpanishAnalyzer() {
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String folded = fold(text.toLowerCase(Locale.ROOT));
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = folded.substring(start, i);
+                if (word.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(word)) {
+                    terms.add(stem(word));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /** Removes combining marks except the tilde of ñ. */
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                out.append(c);
+            } else if (c == '\u0303' && i > 0 && decomposed.charAt(i - 1) == 'n') {
+                out.setCharAt(out.length() - 1, 'ñ');
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Light stemming (after Savoy): strips a final vowel (gender) or a plural ending from words of at least four
+     * letters, so "cupo", "cupos", "materia" and "materias" reduce to "cup" and "materi"; "-ces" becomes "-z"
+     * ("veces" → "vez").
+     */
+    static String stem(String word) {
+        int len = word.length();
+        if (len < MIN_STEM_LENGTH) {
+            return word;
+        }
+        char last = word.charAt(len - 1);
+        if (last == 'o' || last == 'a' || last == 'e') {
+            return word.substring(0, len - 1);
+        }
+        if (last != 's') {
+            return word;
+        }
+        char beforeLast = word.charAt(len - 2);
+        if (beforeLast == 'e' && word.charAt(len - 3) == 's' && word.charAt(len - 4) == 'e') {
+            return word.substring(0, len - 2);
+        }
+        if (beforeLast == 'e' && word.charAt(len - 3) == 'c') {
+            return word.substring(0, len - 3) + 'z';
+        }
+        if (beforeLast == 'o' || beforeLast == 'a' || beforeLast == 'e') {
+            return word.substring(0, len - 2);
+        }
+        return word;
+    }
+}
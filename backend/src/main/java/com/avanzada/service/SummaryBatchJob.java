@@ -0,0 +1,178 @@
+package com.avanzada.service;
+
+import com.avanzada.config.AiProperties;
+import com.avanzada.config.SummaryBatchProperties;
+import com.avanzada.entity.Request;
+import com.avanzada.entity.RequestSummary;
+import com.avanzada.entity.SummaryBatchSkip;
+import com.avanzada.repository.RequestSummaryRepository;
+import com.avanzada.repository.SummaryBatchSkipRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pre-computes the AI summaries of closed requests, so {@code GET /api/requests/{id}/summary} serves them from
+ * {@code request_summary}. Each run reads, in chunks by request id, the closed requests flagged
+ * {@code summary_pending} (set by every change of a request) and clears the flag of each one it handled, as long as
+ * the request did not change meanwhile; the flags are the checkpoint, so a run (or a restart) resumes with whatever
+ * is left, whatever order the closes committed in. Requests that already have a summary of their current version
+ * (generated on demand) are cleared without a call. Packs several requests into each LLM call and runs at most
+ * {@code max-concurrent-calls} calls at a time, next to (not inside) the on-demand AI bulkhead. Failed calls are
+ * retried with exponential backoff; when they keep failing the run stops. Requests the LLM answers without a
+ * summary are recorded in {@code summary_batch_skip} and not sent again until they change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SummaryBatchJob {
+
+    private static final String PENDING_CLOSED = "SELECT r.id FROM request r "
+            + "JOIN state s ON s.id = r.state_id "
+            + "WHERE s.code = ? AND r.summary_pending = TRUE AND r.id > ? "
+            + "ORDER BY r.id LIMIT ?";
+    /** Plain JDBC: no {@code @PreUpdate}, which would flag the request again, and no version increment. */
+    private static final String CLEAR_PENDING = "UPDATE request SET summary_pending = FALSE WHERE id = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SummaryBatchProperties properties;
+    private final AiProperties aiProperties;
+    private final AiCircuitBreaker circuitBreaker;
+    private final AiService aiService;
+    private final RequestLifecycleService lifecycleService;
+    private final SummaryBatchSkipRepository skipRepository;
+    private final RequestSummaryRepository summaryRepository;
+
+    @Scheduled(initialDelayString = "${app.summary-batch.interval-seconds:300}",
+            fixedDelayString = "${app.summary-batch.interval-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledRun() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    /**
+     * Summarizes closed requests without a current summary, chunk by chunk, until none are left, the LLM is
+     * unavailable or a chunk fails. Returns the number of summaries stored.
+     */
+    public synchronized int run() {
+        int stored = 0;
+        long after = 0;
+        try (ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, properties.getMaxConcurrentCalls()),
+                Thread.ofPlatform().name("summary-batch-", 1).daemon().factory())) {
+            while (aiProperties.isConfigured() && circuitBreaker.isCallPermitted()) {
+                List<Long> requestIds = jdbcTemplate.queryForList(PENDING_CLOSED, Long.class,
+                        RequestAction.CLOSE.targetStateCode(), after, properties.getChunkSize());
+                if (requestIds.isEmpty()) {
+                    break;
+                }
+                try {
+                    stored += summarizeChunk(requestIds, pool);
+                } catch (CompletionException e) {
+                    log.warn("Summary batch stopped, the rest is left for the next run: {}",
+                            e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                    break;
+                }
+                after = requestIds.get(requestIds.size() - 1);
+            }
+        }
+        if (stored > 0) {
+            log.info("Summary batch stored {} summaries", stored);
+        }
+        return stored;
+    }
+
+    private int summarizeChunk(List<Long> requestIds, ExecutorService pool) {
+        Map<Long, RequestSummary> summaries = summaryRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(RequestSummary::getRequestId, Function.identity()));
+        Map<Boolean, List<Request>> current = lifecycleService.findRequestDetails(requestIds).stream()
+                .collect(Collectors.partitioningBy(r -> summaries.containsKey(r.getId())
+                        && summaries.get(r.getId()).isCurrentFor(r.getUpdatedAt())));
+        clearPending(current.get(true));
+        List<Request> pending = current.get(false);
+        int perCall = Math.max(1, properties.getRequestsPerCall());
+        List<CompletableFuture<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i += perCall) {
+            List<Request> pack = pending.subList(i, Math.min(i + perCall, pending.size()));
+            calls.add(CompletableFuture.supplyAsync(() -> summarizePack(pack), pool));
+        }
+        return calls.stream().mapToInt(CompletableFuture::join).sum();
+    }
+
+    /**
+     * One packed call; requests the reply left out get a call of their own, and are skipped when that one leaves
+     * them out as well. Clears the flags of the whole pack once each request got its summary or was skipped.
+     */
+    private int summarizePack(List<Request> pack) {
+        Set<Long> done = new HashSet<>(withRetry(pack));
+        for (Request request : pack) {
+            if (!done.contains(request.getId())) {
+                if (pack.size() > 1 && !withRetry(List.of(request)).isEmpty()) {
+                    done.add(request.getId());
+                } else {
+                    skip(request);
+                }
+            }
+        }
+        clearPending(pack);
+        return done.size();
+    }
+
+    private void clearPending(List<Request> requests) {
+        if (!requests.isEmpty()) {
+            jdbcTemplate.batchUpdate(CLEAR_PENDING, requests.stream()
+                    .map(r -> new Object[]{r.getId(), r.getVersion()})
+                    .toList());
+        }
+    }
+
+    private void skip(Request request) {
+        log.warn("No summary returned for request {}; skipped until it changes", request.getId());
+        skipRepository.save(SummaryBatchSkip.builder()
+                .requestId(request.getId())
+                .sourceVersion(request.getUpdatedAt())
+                .skippedAt(Instant.now())
+                .build());
+    }
+
+    private Set<Long> withRetry(List<Request> requests) {
+        long backoff = properties.getBackoffMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return aiService.summarizeTogether(requests);
+            } catch (RuntimeException e) {
+                if (attempt >= properties.getMaxAttempts() || !circuitBreaker.isCallPermitted()) {
+                    throw e;
+                }
+                log.debug("Summary call failed (attempt {}), retrying in {} ms: {}", attempt, backoff, e.getMessage());
+                sleep(backoff);
+                backoff *= 2;
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off", e);
+        }
+    }
+}
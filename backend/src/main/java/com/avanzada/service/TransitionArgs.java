@@ -0,0 +1,24 @@
+package com.avanzada.service;
+
+/**
+ * Action-specific input of a lifecycle transition; fields an action does not use are null.
+ * {@code observations} is the priority justification, the attention observations or the closure observation.
+ */
+public record TransitionArgs(Long requestTypeId, String priority, Long assignedToId, String observations) {
+
+    public static TransitionArgs classify(Long requestTypeId, String priority, String priorityJustification) {
+        return new TransitionArgs(requestTypeId, priority, null, priorityJustification);
+    }
+
+    public static TransitionArgs assign(Long assignedToId) {
+        return new TransitionArgs(null, null, assignedToId, null);
+    }
+
+    public static TransitionArgs attend(String observations) {
+        return new TransitionArgs(null, null, null, observations);
+    }
+
+    public static TransitionArgs close(String closureObservation) {
+        return new TransitionArgs(null, null, null, closureObservation);
+    }
+}
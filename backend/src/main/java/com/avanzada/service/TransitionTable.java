@@ -0,0 +1,67 @@
+package com.avanzada.service;
+
+import com.avanzada.entity.State;
+import com.avanzada.exception.InvalidStateTransitionException;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * {@link RequestAction} transitions resolved against the loaded {@code state} rows, indexed by action ordinal.
+ * Which transitions exist comes from the enum; the table contributes the state ids, so renumbered or renamed
+ * states need no code change, new ones do. Checking a request's state compares ids only, so it neither reads the
+ * state row nor compares codes. Rebuilt with every {@link ReferenceDataCache} snapshot.
+ */
+public final class TransitionTable {
+
+    private static final RequestAction[] ACTIONS = RequestAction.values();
+    private static final long MISSING = Long.MIN_VALUE;
+
+    private final long[] sourceStateIds = new long[ACTIONS.length];
+    private final State[] targetStates = new State[ACTIONS.length];
+    /** Ids of states no action starts from (CERRADA). */
+    private final long[] terminalStateIds;
+
+    private TransitionTable(Map<String, State> statesByCode) {
+        for (RequestAction action : ACTIONS) {
+            State source = statesByCode.get(action.sourceStateCode());
+            sourceStateIds[action.ordinal()] = source != null ? source.getId() : MISSING;
+            targetStates[action.ordinal()] = statesByCode.get(action.targetStateCode());
+        }
+        terminalStateIds = statesByCode.values().stream()
+                .mapToLong(State::getId)
+                .filter(id -> Arrays.stream(sourceStateIds).noneMatch(source -> source == id))
+                .sorted()
+                .toArray();
+    }
+
+    static TransitionTable of(Map<String, State> statesByCode) {
+        return new TransitionTable(statesByCode);
+    }
+
+    /**
+     * Throws unless {@code current} is the state {@code action} starts from.
+     */
+    public void check(RequestAction action, State current) {
+        long source = sourceStateIds[action.ordinal()];
+        if (current != null && source != MISSING && current.getId() == source) {
+            return;
+        }
+        if (current != null && Arrays.binarySearch(terminalStateIds, current.getId()) >= 0) {
+            throw new InvalidStateTransitionException("Request is closed and cannot be modified");
+        }
+        throw new InvalidStateTransitionException("Cannot " + action.verb() + ": request is in state "
+                + (current != null ? current.getCode() : "null") + ", expected " + action.sourceStateCode());
+    }
+
+    /**
+     * State the request moves to; fails when the reference data lacks it.
+     */
+    public State target(RequestAction action) {
+        State target = targetStates[action.ordinal()];
+        if (target == null) {
+            throw new IllegalStateException("State " + action.targetStateCode() + " not found");
+        }
+        return target;
+    }
+}
@@ -0,0 +1,48 @@
+package com.avanzada.benchmark;
+
+import com.avanzada.dto.SuggestResponseDto;
+import com.avanzada.entity.HistoryEntry;
+import com.avanzada.entity.Request;
+import com.avanzada.service.AiPrompts;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local work around each LLM call: building prompts and parsing the suggestion reply.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiPromptsBenchmark {
+
+    private Request request;
+    private List<HistoryEntry> history;
+    private String reply;
+
+    @Setup
+    public void setUp() {
+        request = BenchmarkData.request();
+        history = BenchmarkData.history(request, 12);
+        reply = "Sure! requestTypeCode=homolog priority=High";
+    }
+
+    @Benchmark
+    public String suggestionPrompt() {
+        return AiPrompts.suggestionPrompt(request.getDescription());
+    }
+
+    @Benchmark
+    public SuggestResponseDto parseSuggestion() {
+        return AiPrompts.parseSuggestion(reply);
+    }
+
+    @Benchmark
+    public String summaryPrompt() {
+        return AiPrompts.summaryPrompt(request, history);
+    }
+}
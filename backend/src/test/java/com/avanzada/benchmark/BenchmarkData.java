@@ -0,0 +1,54 @@
+package com.avanzada.benchmark;
+
+import com.avanzada.entity.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities shaped like a typical request returned by the API (all associations set).
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Request request() {
+        Instant now = Instant.parse("2025-03-01T14:30:00.123456Z");
+        return Request.builder()
+                .id(4242L)
+                .description("Solicito homologación de Cálculo Diferencial cursado en la Universidad del Valle, "
+                        + "adjunto contenido programático y certificado de notas.")
+                .registeredAt(now)
+                .requestType(RequestType.builder().id(2L).code("HOMOLOG").name("Homologación").build())
+                .channel(Channel.builder().id(1L).code("CSU").name("Centro de Servicios Universitarios").build())
+                .state(State.builder().id(3L).code("EN_ATENCION").name("En atención").displayOrder(3).build())
+                .priority(Priority.HIGH)
+                .priorityJustification("Fecha límite de matrícula la próxima semana")
+                .requestedBy(user(17L, "student1", "Ana Student"))
+                .assignedTo(user(2L, "staff", "Staff User"))
+                .createdAt(now)
+                .updatedAt(now.plusSeconds(3600))
+                .build();
+    }
+
+    static List<HistoryEntry> history(Request request, int size) {
+        List<HistoryEntry> history = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            history.add(HistoryEntry.builder()
+                    .id((long) i + 1)
+                    .request(request)
+                    .occurredAt(request.getRegisteredAt().plusSeconds(600L * (size - i)))
+                    .action(i % 2 == 0 ? "ASSIGNED" : "CLASSIFIED")
+                    .user(request.getAssignedTo())
+                    .observations(i % 3 == 0 ? "Revisado contenido programático" : null)
+                    .build());
+        }
+        return history;
+    }
+
+    static User user(Long id, String identifier, String name) {
+        return User.builder().id(id).identifier(identifier).name(name).active(true).role("STUDENT").build();
+    }
+}
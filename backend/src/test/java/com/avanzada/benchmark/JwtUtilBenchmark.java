@@ -0,0 +1,63 @@
+package com.avanzada.benchmark;
+
+import com.avanzada.config.JwtProperties;
+import com.avanzada.config.JwtUtil;
+import com.avanzada.entity.User;
+import com.avanzada.repository.TokenRevocationRepository;
+import com.avanzada.security.AppUserDetails;
+import com.avanzada.security.TokenRevocationService;
+import com.avanzada.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing (login) and verification (every authenticated request in JwtAuthenticationFilter),
+ * uncached and through {@link VerifiedTokenCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokens;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmark-secret-at-least-32-bytes-long-for-hs256");
+        properties.setExpirationSeconds(3600);
+        jwtUtil = new JwtUtil(properties);
+        user = BenchmarkData.user(17L, "student1", "Ana Student");
+        token = jwtUtil.generateToken(user);
+        TokenRevocationService revocations =
+                new TokenRevocationService(Mockito.mock(TokenRevocationRepository.class), jwtUtil, properties);
+        verifiedTokens = new VerifiedTokenCache(jwtUtil, revocations, properties, new SimpleMeterRegistry());
+        verifiedTokens.authenticate(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    /** What JwtAuthenticationFilter pays for a token it has already verified. */
+    @Benchmark
+    public AppUserDetails authenticateCached() {
+        return verifiedTokens.authenticate(token);
+    }
+}
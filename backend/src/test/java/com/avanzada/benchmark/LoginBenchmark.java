@@ -0,0 +1,65 @@
+package com.avanzada.benchmark;
+
+import com.avanzada.config.JwtProperties;
+import com.avanzada.config.JwtUtil;
+import com.avanzada.config.PasswordProperties;
+import com.avanzada.security.AppUserDetails;
+import com.avanzada.security.PasswordEncoders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login throughput (password verification plus token issuing) per hashing configuration, with the user
+ * lookup stubbed out. Run with {@code -t <threads>} to see how many logins/s a given core count sustains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "student123";
+
+    /** encoder:bcryptStrength */
+    @Param({"bcrypt:10", "bcrypt:12", "bcrypt:8", "pbkdf2:10"})
+    public String config;
+
+    private AuthenticationManager authenticationManager;
+    private JwtUtil jwtUtil;
+
+    @Setup
+    public void setUp() {
+        String[] parts = config.split(":");
+        PasswordProperties properties = new PasswordProperties();
+        properties.setEncoder(parts[0]);
+        properties.setBcryptStrength(Integer.parseInt(parts[1]));
+        PasswordEncoder encoder = PasswordEncoders.create(properties);
+        String hash = encoder.encode(PASSWORD);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(username -> new AppUserDetails(17L, username, "Ana Student", hash,
+                List.of(new SimpleGrantedAuthority("ROLE_STUDENT"))));
+        authenticationManager = new ProviderManager(provider);
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("benchmark-secret-at-least-32-bytes-long-for-hs256");
+        jwtUtil = new JwtUtil(jwtProperties);
+    }
+
+    @Benchmark
+    public String login() {
+        var auth = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("student1", PASSWORD));
+        return jwtUtil.generateToken((AppUserDetails) auth.getPrincipal());
+    }
+}
@@ -0,0 +1,84 @@
+package com.avanzada.benchmark;
+
+import com.avanzada.config.ClassifierProperties;
+import com.avanzada.service.RequestClassifier;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local suggestion latency of the request classifier, and the share of suggestions it answers without the LLM
+ * (aux counters {@code localAnswers} / {@code llmFallbacks}) on a mix of typical and ambiguous descriptions.
+ * Trained on synthetic classified requests; no database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestClassifierBenchmark {
+
+    private static final String[][] PHRASES = {
+            {"HOMOLOG", "HIGH", "Solicito homologación de %s cursado en otra universidad, la matrícula cierra pronto"},
+            {"HOMOLOG", "MEDIUM", "Quiero homologar %s, adjunto contenido programático y certificado de notas"},
+            {"CUPOS", "HIGH", "Necesito cupo en %s, es prerrequisito y no pude inscribirla"},
+            {"CUPOS", "MEDIUM", "Solicito ampliación de cupos para el grupo de %s"},
+            {"CONSULTA", "LOW", "Tengo una consulta sobre el horario de %s"},
+            {"CONSULTA", "LOW", "Quisiera saber dónde consultar las notas de %s"}
+    };
+    private static final String[] COURSES = {"Cálculo I", "Física II", "Álgebra Lineal", "Programación", "Química",
+            "Estadística", "Bases de Datos", "Ecuaciones Diferenciales"};
+
+    private RequestClassifier classifier;
+    private List<String> descriptions;
+    private int next;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Answers {
+        public long localAnswers;
+        public long llmFallbacks;
+    }
+
+    @Setup
+    public void setUp() {
+        classifier = new RequestClassifier(new SimpleDriverDataSource(), new ClassifierProperties());
+        Random random = new Random(42);
+        List<RequestClassifier.Example> examples = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            String[] phrase = PHRASES[random.nextInt(PHRASES.length)];
+            examples.add(new RequestClassifier.Example(
+                    String.format(phrase[2], COURSES[random.nextInt(COURSES.length)]), phrase[0], phrase[1]));
+        }
+        classifier.train(examples);
+
+        descriptions = new ArrayList<>();
+        for (String[] phrase : PHRASES) {
+            for (String course : COURSES) {
+                descriptions.add(String.format(phrase[2], course));
+            }
+        }
+        for (String course : COURSES) {
+            descriptions.add("Buenas tardes, escribo por lo de " + course);
+            descriptions.add("Cupo y homologación de " + course + ", ¿a quién le pregunto?");
+        }
+    }
+
+    @Benchmark
+    public Optional<RequestClassifier.Suggestion> suggest(Answers answers) {
+        String description = descriptions.get(next++ % descriptions.size());
+        Optional<RequestClassifier.Suggestion> suggestion = classifier.suggest(description);
+        if (suggestion.isPresent()) {
+            answers.localAnswers++;
+        } else {
+            answers.llmFallbacks++;
+        }
+        return suggestion;
+    }
+}
@@ -0,0 +1,84 @@
+package com.avanzada.benchmark;
+
+import com.avanzada.AvanzadaApplication;
+import com.avanzada.entity.Channel;
+import com.avanzada.entity.Request;
+import com.avanzada.entity.RequestType;
+import com.avanzada.entity.User;
+import com.avanzada.repository.ChannelRepository;
+import com.avanzada.repository.RequestTypeRepository;
+import com.avanzada.repository.StateRepository;
+import com.avanzada.repository.UserRepository;
+import com.avanzada.service.RequestAction;
+import com.avanzada.service.RequestLifecycleService;
+import com.avanzada.service.TransitionArgs;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full request lifecycle (create, classify, assign, attend, close) through the service and JPA against the
+ * embedded H2 of the test profile. Measures our per-transition overhead (lookups, history rows, flushes),
+ * not MariaDB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLifecycleBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private RequestLifecycleService lifecycleService;
+    private Long requestTypeId;
+    private Long channelId;
+    private Long requesterId;
+    private Long staffId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(AvanzadaApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=warn");
+        lifecycleService = context.getBean(RequestLifecycleService.class);
+
+        StateRepository states = context.getBean(StateRepository.class);
+        String[] codes = {"REGISTRADA", "CLASIFICADA", "EN_ATENCION", "ATENDIDA", "CERRADA"};
+        for (int i = 0; i < codes.length; i++) {
+            states.save(com.avanzada.entity.State.builder().code(codes[i]).name(codes[i]).displayOrder(i + 1).build());
+        }
+        requestTypeId = context.getBean(RequestTypeRepository.class)
+                .save(RequestType.builder().code("HOMOLOG").name("Homologación").build()).getId();
+        channelId = context.getBean(ChannelRepository.class)
+                .save(Channel.builder().code("CSU").name("CSU").build()).getId();
+        UserRepository users = context.getBean(UserRepository.class);
+        requesterId = users.save(User.builder().identifier("bench-student").name("Student").active(true).role("STUDENT").build()).getId();
+        staffId = users.save(User.builder().identifier("bench-staff").name("Staff").active(true).role("STAFF").build()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Request createRequest() {
+        return lifecycleService.createRequest("Benchmark request", requestTypeId, channelId, requesterId, null);
+    }
+
+    @Benchmark
+    public Request fullLifecycle() {
+        Long id = lifecycleService.createRequest("Benchmark request", requestTypeId, channelId, requesterId, null).getId();
+        lifecycleService.transition(id, RequestAction.CLASSIFY, TransitionArgs.classify(requestTypeId, "HIGH", "Deadline"), staffId);
+        lifecycleService.transition(id, RequestAction.ASSIGN, TransitionArgs.assign(staffId), staffId);
+        lifecycleService.transition(id, RequestAction.ATTEND, TransitionArgs.attend("Attended"), staffId);
+        return lifecycleService.transition(id, RequestAction.CLOSE, TransitionArgs.close("Resolved"), staffId);
+    }
+}
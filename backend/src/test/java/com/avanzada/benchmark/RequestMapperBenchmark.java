@@ -0,0 +1,33 @@
+package com.avanzada.benchmark;
+
+import com.avanzada.dto.RequestMapper;
+import com.avanzada.dto.RequestResponseDto;
+import com.avanzada.entity.Request;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping done for every row of the request listings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMapperBenchmark {
+
+    private final RequestMapper mapper = new RequestMapper();
+    private Request request;
+
+    @Setup
+    public void setUp() {
+        request = BenchmarkData.request();
+    }
+
+    @Benchmark
+    public RequestResponseDto toRequestResponseDto() {
+        return mapper.toRequestResponseDto(request);
+    }
+}
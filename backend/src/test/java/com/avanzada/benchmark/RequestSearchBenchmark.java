@@ -0,0 +1,96 @@
+package com.avanzada.benchmark;
+
+import com.avanzada.config.SearchProperties;
+import com.avanzada.service.RequestSearch;
+import com.avanzada.service.RequestSearchResult;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@code GET /api/requests/search} against the in-memory index, with as many requests as the target
+ * deployment (1M). Descriptions mix common request phrases, course names and a long tail of rarer words; queries
+ * range from a rare word to a term in almost every request (every posting list walked, one score per document).
+ * Built through {@link RequestSearch#indexAfterCommit}, which indexes immediately outside a transaction; no database.
+ * Sample time reports the latency percentiles (p50/p99/p99.9) next to the average, to see allocation/GC outliers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RequestSearchBenchmark {
+
+    private static final String[] PHRASES = {
+            "Solicito homologación de %s cursado en otra universidad",
+            "Necesito cupo en %s, no pude inscribirla en la matrícula",
+            "Quiero cancelar %s por cruce de horario",
+            "Consulta sobre las notas de %s",
+            "Solicitud de registro extemporáneo de %s"
+    };
+    private static final String[] COURSES = {"Cálculo I", "Cálculo II", "Física I", "Física II", "Álgebra Lineal",
+            "Programación", "Química General", "Estadística", "Bases de Datos", "Ecuaciones Diferenciales",
+            "Estructuras de Datos", "Sistemas Operativos", "Redes", "Contabilidad", "Economía"};
+    private static final int TAIL_WORDS = 20_000;
+    private static final int REQUESTERS = 50_000;
+
+    @Param({"1000000"})
+    public int requests;
+
+    @Param({"solicitud", "homologación cálculo", "cupo física urgente", "extemporáneo bases datos matrícula"})
+    public String query;
+
+    private RequestSearch search;
+    private long requesterId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        search = new RequestSearch(new SimpleDriverDataSource(), new SearchProperties());
+        Random random = new Random(42);
+        String[] tail = tailWords(random);
+        List<RequestSearch.Document> batch = new ArrayList<>(10_000);
+        for (long id = 1; id <= requests; id++) {
+            StringBuilder text = new StringBuilder(String.format(PHRASES[random.nextInt(PHRASES.length)],
+                    COURSES[random.nextInt(COURSES.length)]));
+            for (int i = random.nextInt(6); i > 0; i--) {
+                // long tail: low indexes far more frequent than high ones
+                text.append(' ').append(tail[(int) (Math.pow(random.nextDouble(), 3) * TAIL_WORDS)]);
+            }
+            batch.add(new RequestSearch.Document(id, 1 + random.nextInt(REQUESTERS), 0, text.toString()));
+            if (batch.size() == 10_000) {
+                search.indexAfterCommit(batch);
+                batch = new ArrayList<>(10_000);
+            }
+        }
+        search.indexAfterCommit(batch);
+        requesterId = 1 + random.nextInt(REQUESTERS);
+    }
+
+    @Benchmark
+    public RequestSearchResult search() {
+        return search.search(query, null, 0, 20);
+    }
+
+    /** Student view: only the requester's own requests match. */
+    @Benchmark
+    public RequestSearchResult searchOwnRequests() {
+        return search.search(query, requesterId, 0, 20);
+    }
+
+    private static String[] tailWords(Random random) {
+        String[] words = new String[TAIL_WORDS];
+        for (int i = 0; i < TAIL_WORDS; i++) {
+            char[] word = new char[5 + random.nextInt(5)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(word);
+        }
+        return words;
+    }
+}
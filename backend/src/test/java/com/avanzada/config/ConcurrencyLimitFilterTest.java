@@ -0,0 +1,58 @@
+package com.avanzada.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void rejectsWith503WhenAllSlotsStayBusy() throws Exception {
+        ConcurrencyProperties properties = new ConcurrencyProperties();
+        properties.setMaxConcurrentRequests(1);
+        properties.setAcquireTimeoutMs(50);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<MockHttpServletResponse> busy = CompletableFuture.supplyAsync(() -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/requests/page"), response, (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return response;
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/states"), rejected, new MockFilterChain());
+        MockHttpServletResponse notLimited = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/health"), notLimited, new MockFilterChain());
+        release.countDown();
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(notLimited.getStatus()).isEqualTo(200);
+        assertThat(busy.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse afterRelease = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/states"), afterRelease, new MockFilterChain());
+        assertThat(afterRelease.getStatus()).isEqualTo(200);
+    }
+}
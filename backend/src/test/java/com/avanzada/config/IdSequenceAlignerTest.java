@@ -0,0 +1,70 @@
+package com.avanzada.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdSequenceAlignerTest {
+
+    private static final IdSequenceAligner.IdSequence PROBE =
+            new IdSequenceAligner.IdSequence("seq_align_probe", "seq_align_probe_seq", 50);
+
+    @Autowired
+    private IdSequenceAligner aligner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE seq_align_probe (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE SEQUENCE seq_align_probe_seq START WITH 1 INCREMENT BY 50");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE seq_align_probe");
+        jdbcTemplate.execute("DROP SEQUENCE seq_align_probe_seq");
+    }
+
+    @Test
+    void align_restartsSequenceBehindExistingIds() {
+        jdbcTemplate.update("INSERT INTO seq_align_probe (id) VALUES (1000)");
+
+        aligner.align(PROBE);
+
+        assertThat(nextValue()).isEqualTo(1050L);
+    }
+
+    @Test
+    void align_leavesSequenceAheadOfExistingIds() {
+        jdbcTemplate.update("INSERT INTO seq_align_probe (id) VALUES (20)");
+        jdbcTemplate.execute("ALTER SEQUENCE seq_align_probe_seq RESTART WITH 500");
+
+        aligner.align(PROBE);
+
+        assertThat(nextValue()).isEqualTo(550L);
+    }
+
+    @Test
+    void align_createsMissingSequencePastExistingIds() {
+        jdbcTemplate.update("INSERT INTO seq_align_probe (id) VALUES (1000)");
+        jdbcTemplate.execute("DROP SEQUENCE seq_align_probe_seq");
+
+        aligner.align(PROBE);
+
+        assertThat(nextValue()).isEqualTo(1050L);
+    }
+
+    private Long nextValue() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR seq_align_probe_seq", Long.class);
+    }
+}
@@ -1,6 +1,8 @@
 package com.avanzada.repository;
 
 import com.avanzada.entity.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -76,4 +79,26 @@ class HistoryEntryRepositoryTest {
         assertThat(entries.get(0).getAction()).isEqualTo("REGISTERED");
         assertThat(entries.get(0).getObservations()).isEqualTo("Created");
     }
+
+    @Test
+    void saveHistoryEntries_areBatchedAtFlush() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        IntStream.range(0, 120).forEach(i -> historyEntryRepository.save(HistoryEntry.builder()
+                .request(request)
+                .occurredAt(Instant.now())
+                .action("NOTE")
+                .user(user)
+                .observations("Entry " + i)
+                .build()));
+        long statementsBeforeFlush = statistics.getPrepareStatementCount();
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        // one sequence call per 50 ids; at flush a single insert statement executed in JDBC batches of 50
+        assertThat(statementsBeforeFlush).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount() - statementsBeforeFlush).isEqualTo(1);
+    }
 }
@@ -1,13 +1,20 @@
 package com.avanzada.repository;
 
+import com.avanzada.dto.RequestMapper;
+import com.avanzada.dto.RequestResponseDto;
 import com.avanzada.entity.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
 import java.time.Instant;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -133,4 +140,126 @@ class RequestRepositoryTest {
         assertThat(byRequestedBy).hasSize(2);
         assertThat(byRequestedBy).allMatch(r -> r.getRequestedBy().getId().equals(requester.getId()));
     }
+
+    @Test
+    void findByFilter_combinesOnlySuppliedPredicates() {
+        saveRequest("Unassigned", Instant.now());
+        Request assigned = requestRepository.save(Request.builder()
+                .description("Assigned")
+                .registeredAt(Instant.now())
+                .requestType(requestType)
+                .channel(channel)
+                .state(stateClasificada)
+                .priority(Priority.LOW)
+                .requestedBy(requester)
+                .assignedTo(assignee)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Request> found = requestRepository.findByFilter(
+                new RequestFilter(stateClasificada.getId(), null, Priority.LOW, assignee.getId(), null));
+        assertThat(found).extracting(Request::getId).containsExactly(assigned.getId());
+
+        assertThat(requestRepository.findByFilter(
+                new RequestFilter(stateRegistrada.getId(), null, null, assignee.getId(), null))).isEmpty();
+    }
+
+    @Test
+    void findPageByFilters_walksKeysetInRegisteredAtThenIdOrder() {
+        Instant sameInstant = Instant.parse("2025-01-10T10:00:00Z");
+        Request older = saveRequest("Older", Instant.parse("2025-01-09T10:00:00Z"));
+        Request tieLow = saveRequest("Tie low", sameInstant);
+        Request tieHigh = saveRequest("Tie high", sameInstant);
+        Request newest = saveRequest("Newest", Instant.parse("2025-01-11T10:00:00Z"));
+        entityManager.flush();
+        entityManager.clear();
+
+        RequestFilter none = new RequestFilter(null, null, null, null, null);
+        List<Request> first = requestRepository.findPageByFilter(none, null, 2);
+        assertThat(first).extracting(Request::getId).containsExactly(newest.getId(), tieHigh.getId());
+
+        RequestCursor cursor = RequestCursor.decode(RequestCursor.of(first.get(1)).encode());
+        List<Request> second = requestRepository.findPageByFilter(none, cursor, 2);
+        assertThat(second).extracting(Request::getId).containsExactly(tieLow.getId(), older.getId());
+    }
+
+    @Test
+    void streamByFilters_returnsSameRowsAsList() {
+        saveRequest("S1", Instant.parse("2025-01-09T10:00:00Z"));
+        saveRequest("S2", Instant.parse("2025-01-10T10:00:00Z"));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> listed = requestRepository.findByFilters(null, null, null, null, requester.getId()).stream()
+                .map(Request::getId).collect(Collectors.toList());
+        try (Stream<Request> streamed = requestRepository.streamByFilter(
+                new RequestFilter(null, null, null, null, requester.getId()))) {
+            assertThat(streamed.map(Request::getId).collect(Collectors.toList())).isEqualTo(listed);
+        }
+    }
+
+    @Test
+    void findByFilters_mapsListWithConstantStatementCount() {
+        for (int i = 0; i < 5; i++) {
+            User owner = userRepository.save(User.builder()
+                    .identifier("owner" + i + "@test.com")
+                    .name("Owner " + i)
+                    .active(true)
+                    .build());
+            requestRepository.save(Request.builder()
+                    .description("N+1 check " + i)
+                    .registeredAt(Instant.now())
+                    .requestType(requestType)
+                    .channel(channel)
+                    .state(i % 2 == 0 ? stateRegistrada : stateClasificada)
+                    .requestedBy(owner)
+                    .assignedTo(assignee)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        RequestMapper mapper = new RequestMapper();
+        List<RequestResponseDto> dtos = requestRepository.findByFilters(null, null, null, null, null).stream()
+                .map(mapper::toRequestResponseDto)
+                .collect(Collectors.toList());
+
+        assertThat(dtos).hasSize(5).allMatch(d -> d.getRequestedByName() != null && d.getStateName() != null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findDetailedById_loadsAssociationsInOneStatement() {
+        Request saved = saveRequest("Detail", Instant.now());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        RequestResponseDto dto = new RequestMapper().toRequestResponseDto(
+                requestRepository.findDetailedById(saved.getId()).orElseThrow());
+
+        assertThat(dto.getRequestTypeCode()).isEqualTo("REG_ASIG");
+        assertThat(dto.getChannelName()).isEqualTo("CSU");
+        assertThat(dto.getRequestedByName()).isEqualTo("Requester");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Request saveRequest(String description, Instant registeredAt) {
+        return requestRepository.save(Request.builder()
+                .description(description)
+                .registeredAt(registeredAt)
+                .requestType(requestType)
+                .channel(channel)
+                .state(stateRegistrada)
+                .requestedBy(requester)
+                .build());
+    }
 }
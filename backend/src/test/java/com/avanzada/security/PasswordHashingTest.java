@@ -0,0 +1,109 @@
+package com.avanzada.security;
+
+import com.avanzada.config.PasswordProperties;
+import com.avanzada.entity.User;
+import com.avanzada.exception.LoginThrottledException;
+import com.avanzada.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PasswordHashingTest {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void login_rehashesLegacyHashWithConfiguredEncoderAndReturnsFullPrincipal() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret123");
+        User user = userRepository.save(User.builder()
+                .identifier("legacy@test.com")
+                .name("Legacy User")
+                .role("STAFF")
+                .active(true)
+                .passwordHash(legacyHash)
+                .build());
+
+        Authentication auth = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken("legacy@test.com", "secret123"));
+
+        AppUserDetails principal = (AppUserDetails) auth.getPrincipal();
+        assertThat(principal.userId()).isEqualTo(user.getId());
+        assertThat(principal.name()).isEqualTo("Legacy User");
+        assertThat(principal.role()).isEqualTo("STAFF");
+        String stored = userRepository.findById(user.getId()).orElseThrow().getPasswordHash();
+        assertThat(stored).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches("secret123", stored)).isTrue();
+    }
+
+    @Test
+    void encoders_supportPbkdf2AndRejectUnknownIds() {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setEncoder("pbkdf2");
+        PasswordEncoder pbkdf2 = PasswordEncoders.create(properties);
+        String hash = pbkdf2.encode("secret123");
+
+        assertThat(hash).startsWith("{pbkdf2}");
+        assertThat(passwordEncoder.matches("secret123", hash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(hash)).isTrue();
+
+        properties.setEncoder("md5");
+        assertThatThrownBy(() -> PasswordEncoders.create(properties)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void hashingExecutor_rejectsWhenQueueIsFull() throws Exception {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setHashingThreads(1);
+        properties.setHashingQueueCapacity(1);
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(properties, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Boolean> running = executor.submit(() -> await(release));
+            CompletableFuture<Boolean> queued = executor.submit(() -> await(release));
+            CompletableFuture<Boolean> rejected = executor.submit(() -> await(release));
+
+            assertThatThrownBy(rejected::get).isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(LoginThrottledException.class);
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
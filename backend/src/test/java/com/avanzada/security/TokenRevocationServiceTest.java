@@ -0,0 +1,107 @@
+package com.avanzada.security;
+
+import com.avanzada.config.JwtProperties;
+import com.avanzada.config.JwtUtil;
+import com.avanzada.entity.User;
+import com.avanzada.repository.TokenRevocationRepository;
+import com.avanzada.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not transactional: revocation on deactivation happens after commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenRevocationServiceTest {
+
+    @Autowired
+    private TokenRevocationService revocations;
+
+    @Autowired
+    private TokenRevocationRepository revocationRepository;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokens;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .identifier("revocation-" + System.nanoTime())
+                .name("Revocation")
+                .role("STAFF")
+                .active(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // deleting the user records a revocation too, so clear revocations last
+        userRepository.deleteById(user.getId());
+        revocationRepository.deleteAll();
+    }
+
+    @Test
+    void deactivatingUserRevokesTokensIssuedBefore() {
+        String token = jwtUtil.generateToken(user);
+        assertThat(verifiedTokens.authenticate(token).userId()).isEqualTo(user.getId());
+
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+        loaded.setActive(false);
+        userRepository.save(loaded);
+
+        assertThatThrownBy(() -> verifiedTokens.authenticate(token)).isInstanceOf(TokenRevokedException.class);
+        assertThat(revocationRepository.findAll()).singleElement()
+                .satisfies(r -> assertThat(r.getJti()).isNull());
+    }
+
+    @Test
+    void savingUserWithoutFlippingActiveKeepsTokensValid() {
+        String token = jwtUtil.generateToken(user);
+
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+        loaded.setName("Renamed");
+        userRepository.save(loaded);
+
+        assertThat(verifiedTokens.authenticate(token).userId()).isEqualTo(user.getId());
+        assertThat(revocationRepository.count()).isZero();
+    }
+
+    @Test
+    void revokeTokenAffectsOnlyThatTokenAndSurvivesReload() {
+        String loggedOut = jwtUtil.generateToken(user);
+        String other = jwtUtil.generateToken(user);
+
+        revocations.revokeToken(loggedOut);
+
+        assertThatThrownBy(() -> verifiedTokens.authenticate(loggedOut)).isInstanceOf(TokenRevokedException.class);
+        assertThat(verifiedTokens.authenticate(other).userId()).isEqualTo(user.getId());
+
+        TokenRevocationService restarted = new TokenRevocationService(revocationRepository, jwtUtil, jwtProperties);
+        restarted.load();
+        var loggedOutClaims = jwtUtil.parseToken(loggedOut);
+        var otherClaims = jwtUtil.parseToken(other);
+        assertThat(restarted.isRevoked(user.getId(), loggedOutClaims.getId(),
+                loggedOutClaims.getIssuedAt().toInstant().getEpochSecond())).isTrue();
+        assertThat(restarted.isRevoked(user.getId(), otherClaims.getId(),
+                otherClaims.getIssuedAt().toInstant().getEpochSecond())).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package com.avanzada.security;
+
+import com.avanzada.config.JwtProperties;
+import com.avanzada.config.JwtUtil;
+import com.avanzada.entity.User;
+import com.avanzada.repository.TokenRevocationRepository;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class VerifiedTokenCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtProperties properties;
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokens;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret("test-secret-at-least-32-bytes-long-for-hs256");
+        properties.setExpirationSeconds(3600);
+        jwtUtil = new JwtUtil(properties);
+        TokenRevocationService revocations =
+                new TokenRevocationService(mock(TokenRevocationRepository.class), jwtUtil, properties);
+        verifiedTokens = new VerifiedTokenCache(jwtUtil, revocations, properties, meterRegistry);
+        user = User.builder().id(7L).identifier("staff").name("Staff").role("STAFF").active(true).build();
+    }
+
+    @Test
+    void authenticate_verifiesOnceThenServesPrincipalFromCache() {
+        String token = jwtUtil.generateToken(user);
+
+        AppUserDetails first = verifiedTokens.authenticate(token);
+        AppUserDetails second = verifiedTokens.authenticate(token);
+
+        assertThat(first.userId()).isEqualTo(7L);
+        assertThat(first.getUsername()).isEqualTo("staff");
+        assertThat(first.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_STAFF");
+        assertThat(second).isSameAs(first);
+        assertThat(cacheGets("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void authenticate_rejectsTamperedTokenWithoutCachingIt() {
+        String token = jwtUtil.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> verifiedTokens.authenticate(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> verifiedTokens.authenticate(tampered)).isInstanceOf(JwtException.class);
+        assertThat(cacheGets("hit")).isZero();
+    }
+
+    @Test
+    void authenticate_dropsEntryWhenTokenExpires() throws Exception {
+        properties.setExpirationSeconds(1);
+        String token = jwtUtil.generateToken(user);
+        verifiedTokens.authenticate(token);
+
+        Thread.sleep(1100);
+
+        assertThatThrownBy(() -> verifiedTokens.authenticate(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -5,6 +5,8 @@ import com.avanzada.dto.SuggestResponseDto;
 import com.avanzada.dto.SummaryResponseDto;
 import com.avanzada.entity.*;
 import com.avanzada.repository.HistoryEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +14,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -28,6 +32,12 @@ class AiServiceTest {
     @Autowired
     private HistoryEntryRepository historyEntryRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AiCircuitBreaker circuitBreaker;
+
     @Autowired
     private com.avanzada.repository.RequestRepository requestRepository;
 
@@ -43,12 +53,36 @@ class AiServiceTest {
     @Autowired
     private com.avanzada.repository.UserRepository userRepository;
 
+    @Autowired
+    private RequestClassifier classifier;
+
+    private String defaultEndpoint;
+    private int defaultFailureThreshold;
+
     @BeforeEach
     void setUp() {
+        defaultEndpoint = aiProperties.getEndpoint();
+        defaultFailureThreshold = aiProperties.getCircuitFailureThreshold();
         aiProperties.setEnabled(false);
         aiProperties.setApiKey("");
     }
 
+    @AfterEach
+    void tearDown() {
+        aiProperties.setEnabled(false);
+        aiProperties.setApiKey("");
+        aiProperties.setEndpoint(defaultEndpoint);
+        aiProperties.setCircuitFailureThreshold(defaultFailureThreshold);
+        circuitBreaker.reset();
+        classifier.train(java.util.List.of());
+    }
+
+    private void enableAi(LlmStubServer stub) {
+        aiProperties.setEnabled(true);
+        aiProperties.setApiKey("test-key");
+        aiProperties.setEndpoint(stub.endpoint());
+    }
+
     @Test
     void suggest_whenDisabled_returnsAvailableFalse() {
         SuggestResponseDto response = aiService.suggestTypeAndPriority("Need to homologate a course");
@@ -78,4 +112,156 @@ class AiServiceTest {
         assertThat(response.getSummary()).contains("Request #" + request.getId());
         assertThat(response.getSummary()).contains("Registrada");
     }
+
+    @Test
+    void suggest_reusesPooledConnectionAcrossCalls() throws Exception {
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+
+            for (int i = 0; i < 3; i++) {
+                SuggestResponseDto response = aiService.suggestTypeAndPriority("Homologar curso externo " + i);
+                assertThat(response.getAvailable()).isTrue();
+                assertThat(response.getSuggestedRequestTypeCode()).isEqualTo("HOMOLOG");
+                assertThat(response.getSuggestedPriority()).isEqualTo("HIGH");
+            }
+
+            assertThat(stub.calls()).isEqualTo(3);
+            assertThat(stub.connections()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void suggest_servesNearIdenticalDescriptionsFromCache() throws Exception {
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+            double hitsBefore = cacheGets("hit");
+
+            SuggestResponseDto first = aiService.suggestTypeAndPriority("Solicitud de homologación  de Cálculo I");
+            SuggestResponseDto second = aiService.suggestTypeAndPriority("  solicitud de HOMOLOGACION de calculo i ");
+
+            assertThat(stub.calls()).isEqualTo(1);
+            assertThat(second.getSuggestedRequestTypeCode()).isEqualTo(first.getSuggestedRequestTypeCode());
+            assertThat(cacheGets("hit") - hitsBefore).isEqualTo(1.0);
+        }
+    }
+
+    @Test
+    void generateSummary_reusesStoredSummaryUntilRequestChanges() throws Exception {
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+            stub.respondWith(prompt -> "Summary " + stub.calls());
+            RequestType type = requestTypeRepository.save(RequestType.builder().code("T").name("T").build());
+            Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
+            State state = stateRepository.save(State.builder().code("REGISTRADA").name("Registrada").displayOrder(1).build());
+            User user = userRepository.save(User.builder().identifier("u@t.com").name("U").active(true).build());
+            Request request = requestRepository.saveAndFlush(Request.builder()
+                    .description("Request to summarize")
+                    .registeredAt(java.time.Instant.now())
+                    .requestType(type)
+                    .channel(channel)
+                    .state(state)
+                    .requestedBy(user)
+                    .build());
+
+            SummaryResponseDto first = aiService.generateSummary(request);
+            SummaryResponseDto second = aiService.generateSummary(request);
+
+            assertThat(first.getFromAi()).isTrue();
+            assertThat(second.getSummary()).isEqualTo(first.getSummary());
+            assertThat(stub.calls()).isEqualTo(1);
+
+            Thread.sleep(5);
+            request.setDescription("Request to summarize, updated");
+            requestRepository.saveAndFlush(request);
+            SummaryResponseDto third = aiService.generateSummary(request);
+
+            assertThat(stub.calls()).isEqualTo(2);
+            assertThat(third.getSummary()).isNotEqualTo(first.getSummary());
+        }
+    }
+
+    @Test
+    void suggestAsync_runsLlmCallOnAiExecutor() throws Exception {
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+            stub.respondWith(prompt -> "requestTypeCode=CUPOS priority=LOW");
+            double completedBefore = aiTasksCompleted();
+
+            SuggestResponseDto response = aiService.suggestTypeAndPriorityAsync("Necesito cupo en Física II")
+                    .get(5, TimeUnit.SECONDS);
+
+            assertThat(response.getSuggestedRequestTypeCode()).isEqualTo("CUPOS");
+            assertThat(stub.calls()).isEqualTo(1);
+            // the pool counts the task as completed just after the future it completed is handed back
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (aiTasksCompleted() - completedBefore < 1.0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(aiTasksCompleted() - completedBefore).isEqualTo(1.0);
+        }
+    }
+
+    @Test
+    void suggest_shortCircuitsToFallbackWhileProviderIsFailing() throws Exception {
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+            aiProperties.setCircuitFailureThreshold(2);
+            stub.failWith(500);
+
+            aiService.suggestTypeAndPriority("Cancelar asignatura A");
+            aiService.suggestTypeAndPriority("Cancelar asignatura B");
+            SuggestResponseDto response = aiService.suggestTypeAndPriorityAsync("Cancelar asignatura C")
+                    .get(5, TimeUnit.SECONDS);
+
+            assertThat(stub.calls()).isEqualTo(2);
+            assertThat(circuitBreaker.state()).isEqualTo(AiCircuitBreaker.State.OPEN);
+            assertThat(response.getAvailable()).isFalse();
+            assertThat(response.getMessage()).contains("failing");
+        }
+    }
+
+    @Test
+    void suggest_answersConfidentDescriptionsLocallyAndDefersTheRestToLlm() throws Exception {
+        java.util.List<RequestClassifier.Example> examples = new java.util.ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            examples.add(new RequestClassifier.Example("Solicito homologación de la asignatura " + i, "HOMOLOG", "HIGH"));
+            examples.add(new RequestClassifier.Example("Consulta sobre el horario del grupo " + i, "CONSULTA", "LOW"));
+        }
+        classifier.train(examples);
+
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+            stub.respondWith(prompt -> "requestTypeCode=CUPOS priority=MEDIUM");
+
+            SuggestResponseDto local = aiService.suggestTypeAndPriority("Solicito homologación de Cálculo I");
+            assertThat(local.getSource()).isEqualTo(SuggestResponseDto.SOURCE_LOCAL);
+            assertThat(local.getSuggestedRequestTypeCode()).isEqualTo("HOMOLOG");
+            assertThat(local.getSuggestedPriority()).isEqualTo("HIGH");
+            assertThat(stub.calls()).isZero();
+
+            SuggestResponseDto remote = aiService.suggestTypeAndPriority("Ampliación de cupo para Química orgánica");
+            assertThat(remote.getSource()).isEqualTo(SuggestResponseDto.SOURCE_LLM);
+            assertThat(remote.getSuggestedRequestTypeCode()).isEqualTo("CUPOS");
+            assertThat(stub.calls()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void suggestionCacheKey_foldsCaseWhitespaceAndAccents() {
+        assertThat(AiSuggestionCache.normalize("  Cupo en\tCÁLCULO  II ")).isEqualTo("cupo en calculo ii");
+        assertThat(AiSuggestionCache.key("Homologación")).isEqualTo(AiSuggestionCache.key("HOMOLOGACION "));
+        assertThat(AiSuggestionCache.key("Homologación")).isNotEqualTo(AiSuggestionCache.key("Cancelación"));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", AiSuggestionCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private double aiTasksCompleted() {
+        return meterRegistry.get("executor.completed").tag("name", "ai").functionCounter().count();
+    }
 }
@@ -0,0 +1,99 @@
+package com.avanzada.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    void search_ranksByRelevance() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, 10, 0, "Solicitud de cupo en Física II para el próximo semestre");
+        index.add(2, 10, 0, "Cupo cupo: necesito cupos en Cálculo");
+        index.add(3, 20, 0, "Homologación de materias del plan anterior");
+
+        RequestSearchResult result = index.search("cupo", null, 0, 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).extracting(RequestSearchResult.Hit::requestId).containsExactly(2L, 1L);
+        assertThat(index.search("inexistente", null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void search_foldsAccentsAndStems() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, 10, 0, "Homologación de materias");
+        index.add(2, 10, 0, "Calculo diferencial");
+
+        assertThat(index.search("HOMOLOGACION materia", null, 0, 10).hits())
+                .extracting(RequestSearchResult.Hit::requestId).containsExactly(1L);
+        assertThat(index.search("cálculos", null, 0, 10).hits())
+                .extracting(RequestSearchResult.Hit::requestId).containsExactly(2L);
+        assertThat(index.search("de la", null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void search_filtersByRequesterAndPages() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 5; id++) {
+            index.add(id, id % 2, 0, "cupo número " + id);
+        }
+
+        assertThat(index.search("cupo", 1L, 0, 10).hits())
+                .extracting(RequestSearchResult.Hit::requestId).containsExactlyInAnyOrder(1L, 3L, 5L);
+        RequestSearchResult second = index.search("cupo", null, 2, 2);
+        assertThat(second.total()).isEqualTo(5);
+        assertThat(second.hits()).hasSize(2);
+        assertThat(index.search("cupo", null, 10, 2).hits()).isEmpty();
+    }
+
+    @Test
+    void add_appendsToOlderDocuments() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 1000; id++) {
+            index.add(id, 10, 0, "solicitud " + id);
+        }
+        for (long id = 1; id <= 1000; id += 3) {
+            index.add(id, 10, id, "asignado asignado");
+        }
+        index.add(1, 10, 2000, "urgente");
+        index.add(4, 10, 2001, "urgente urgente urgente");
+
+        assertThat(index.documentCount()).isEqualTo(1000);
+        assertThat(index.search("asignado", null, 0, 1000).total()).isEqualTo(334);
+        assertThat(index.search("urgente", null, 0, 10).hits())
+                .extracting(RequestSearchResult.Hit::requestId).containsExactly(4L, 1L);
+        assertThat(index.maxHistoryId()).isEqualTo(2001);
+    }
+
+    @Test
+    void writeAndRead_roundTrip() throws IOException {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 300; id++) {
+            index.add(id, id % 7, 0, "cupo en grupo " + (id % 11));
+        }
+        for (long id = 300; id >= 1; id -= 2) {
+            index.add(id, id % 7, 1000 + id, "cerrada con observación");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.write(new DataOutputStream(bytes));
+
+        InvertedIndex read = InvertedIndex.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(read.documentCount()).isEqualTo(300);
+        assertThat(read.termCount()).isEqualTo(index.termCount());
+        assertThat(read.maxRequestId()).isEqualTo(300);
+        assertThat(read.maxHistoryId()).isEqualTo(1300);
+        assertThat(read.search("observacion grupo", 3L, 0, 50)).isEqualTo(index.search("observacion grupo", 3L, 0, 50));
+        read.add(301, 1, 0, "cupo nuevo");
+        assertThat(read.search("nuevo", null, 0, 10).hits())
+                .extracting(RequestSearchResult.Hit::requestId).containsExactly(301L);
+    }
+}
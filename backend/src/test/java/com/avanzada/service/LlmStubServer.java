@@ -0,0 +1,74 @@
+package com.avanzada.service;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Minimal OpenAI-compatible chat completions endpoint for tests. Records how many calls were made and from how
+ * many distinct client connections (remote ports).
+ */
+class LlmStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile Function<String, String> responder = prompt -> "requestTypeCode=HOMOLOG priority=HIGH";
+    private volatile int status = 200;
+
+    LlmStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", exchange -> {
+            calls.incrementAndGet();
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            String requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            String content = responder.apply(requestBody)
+                    .replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+            byte[] body = ("{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"" + content + "\"}}]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions";
+    }
+
+    /** Maps the raw JSON request body to the assistant message content. */
+    void respondWith(Function<String, String> responder) {
+        this.responder = responder;
+    }
+
+    void failWith(int status) {
+        this.status = status;
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    int connections() {
+        return clientPorts.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,134 @@
+package com.avanzada.service;
+
+import com.avanzada.entity.*;
+import com.avanzada.exception.InvalidStateTransitionException;
+import com.avanzada.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: each transition must commit on its own for the optimistic lock to arbitrate.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RequestConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final String[] STATE_CODES = {"REGISTRADA", "CLASIFICADA", "EN_ATENCION", "ATENDIDA", "CERRADA"};
+
+    @Autowired
+    private RequestLifecycleService lifecycleService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private HistoryEntryRepository historyEntryRepository;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private RequestTypeRepository requestTypeRepository;
+
+    @Autowired
+    private ChannelRepository channelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevocationRepository revocationRepository;
+
+    @Autowired
+    private RequestCounterRepository counterRepository;
+
+    @Autowired
+    private RequestQueueItemRepository queueItemRepository;
+
+    private User staff;
+    private List<User> assignees;
+    private RequestType type;
+    private Channel channel;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < STATE_CODES.length; i++) {
+            stateRepository.save(State.builder().code(STATE_CODES[i]).name(STATE_CODES[i]).displayOrder(i + 1).build());
+        }
+        type = requestTypeRepository.save(RequestType.builder().code("CUPOS").name("Cupos").build());
+        channel = channelRepository.save(Channel.builder().code("CSU").name("CSU").build());
+        staff = userRepository.save(User.builder().identifier("staff@race.test").name("Staff").active(true).build());
+        assignees = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            assignees.add(userRepository.save(User.builder()
+                    .identifier("assignee" + i + "@race.test").name("Assignee " + i).active(true).build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyEntryRepository.deleteAll();
+        requestRepository.deleteAll();
+        counterRepository.deleteAll();
+        queueItemRepository.deleteAll();
+        userRepository.deleteAll();
+        revocationRepository.deleteAll();
+        requestTypeRepository.deleteAll();
+        channelRepository.deleteAll();
+        stateRepository.deleteAll();
+    }
+
+    @Test
+    void parallelAssign_exactlyOneWins() throws Exception {
+        Long requestId = lifecycleService.createRequest("Cupo en Física II", type.getId(), channel.getId(), staff.getId(), null).getId();
+        lifecycleService.transition(requestId, RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "HIGH", null), staff.getId());
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Request>> attempts = new ArrayList<>();
+        for (User assignee : assignees) {
+            attempts.add(pool.submit(() -> {
+                start.await();
+                return lifecycleService.transition(requestId, RequestAction.ASSIGN,
+                        TransitionArgs.assign(assignee.getId()), staff.getId());
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        int wins = 0;
+        for (Future<Request> attempt : attempts) {
+            try {
+                attempt.get();
+                wins++;
+            } catch (java.util.concurrent.ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOfAny(
+                        OptimisticLockingFailureException.class, InvalidStateTransitionException.class);
+            }
+        }
+
+        assertThat(wins).isEqualTo(1);
+        assertThat(historyEntryRepository.findByRequest_IdOrderByOccurredAtDesc(requestId))
+                .filteredOn(e -> "ASSIGNED".equals(e.getAction()))
+                .hasSize(1);
+        assertThat(requestRepository.findById(requestId).orElseThrow().getVersion()).isEqualTo(2L);
+    }
+}
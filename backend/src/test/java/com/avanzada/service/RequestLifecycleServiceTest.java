@@ -1,9 +1,13 @@
 package com.avanzada.service;
 
+import com.avanzada.dto.RequestStatsDto;
 import com.avanzada.entity.*;
 import com.avanzada.exception.InvalidStateTransitionException;
 import com.avanzada.exception.RequestNotFoundException;
 import com.avanzada.repository.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +15,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -39,6 +46,18 @@ class RequestLifecycleServiceTest {
     @Autowired
     private HistoryEntryRepository historyEntryRepository;
 
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RequestCounters counters;
+
+    @Autowired
+    private RequestQueue queue;
+
     private User requester;
     private User assignee;
     private User otherUser;
@@ -92,25 +111,29 @@ class RequestLifecycleServiceTest {
         assertThat(historyEntries(created.getId())).hasSize(1);
         assertThat(historyEntries(created.getId()).get(0).getAction()).isEqualTo("REGISTERED");
 
-        Request classified = lifecycleService.classify(created.getId(), type.getId(), "HIGH", "Urgent", otherUser.getId());
+        Request classified = lifecycleService.transition(created.getId(), RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "HIGH", "Urgent"), otherUser.getId());
         assertThat(classified.getState().getCode()).isEqualTo("CLASIFICADA");
         assertThat(classified.getPriority()).isEqualTo(Priority.HIGH);
         assertThat(classified.getPriorityJustification()).isEqualTo("Urgent");
         assertThat(historyEntries(created.getId())).hasSize(2);
         assertThat(historyEntries(created.getId()).get(0).getAction()).isEqualTo("CLASSIFIED");
 
-        Request assigned = lifecycleService.assign(classified.getId(), assignee.getId(), otherUser.getId());
+        Request assigned = lifecycleService.transition(classified.getId(), RequestAction.ASSIGN,
+                TransitionArgs.assign(assignee.getId()), otherUser.getId());
         assertThat(assigned.getState().getCode()).isEqualTo("EN_ATENCION");
         assertThat(assigned.getAssignedTo().getId()).isEqualTo(assignee.getId());
         assertThat(historyEntries(created.getId())).hasSize(3);
         assertThat(historyEntries(created.getId()).get(0).getAction()).isEqualTo("ASSIGNED");
 
-        Request attended = lifecycleService.attend(assigned.getId(), assignee.getId(), "Resolved");
+        Request attended = lifecycleService.transition(assigned.getId(), RequestAction.ATTEND,
+                TransitionArgs.attend("Resolved"), assignee.getId());
         assertThat(attended.getState().getCode()).isEqualTo("ATENDIDA");
         assertThat(historyEntries(created.getId())).hasSize(4);
         assertThat(historyEntries(created.getId()).get(0).getAction()).isEqualTo("ATTENDED");
 
-        Request closed = lifecycleService.close(attended.getId(), "Closed after verification", otherUser.getId());
+        Request closed = lifecycleService.transition(attended.getId(), RequestAction.CLOSE,
+                TransitionArgs.close("Closed after verification"), otherUser.getId());
         assertThat(closed.getState().getCode()).isEqualTo("CERRADA");
         assertThat(closed.getClosureObservation()).isEqualTo("Closed after verification");
         assertThat(historyEntries(created.getId())).hasSize(5);
@@ -122,9 +145,11 @@ class RequestLifecycleServiceTest {
         RequestType type = requestTypeRepository.save(RequestType.builder().code("T").name("T").build());
         Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
         Request created = lifecycleService.createRequest("Desc", type.getId(), channel.getId(), requester.getId(), null);
-        lifecycleService.classify(created.getId(), type.getId(), "MEDIUM", null, otherUser.getId());
+        lifecycleService.transition(created.getId(), RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "MEDIUM", null), otherUser.getId());
 
-        assertThatThrownBy(() -> lifecycleService.classify(created.getId(), type.getId(), "LOW", null, otherUser.getId()))
+        assertThatThrownBy(() -> lifecycleService.transition(created.getId(), RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "LOW", null), otherUser.getId()))
                 .isInstanceOf(InvalidStateTransitionException.class)
                 .hasMessageContaining("expected REGISTRADA");
     }
@@ -136,9 +161,11 @@ class RequestLifecycleServiceTest {
         RequestType type = requestTypeRepository.save(RequestType.builder().code("T").name("T").build());
         Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
         Request created = lifecycleService.createRequest("Desc", type.getId(), channel.getId(), requester.getId(), null);
-        lifecycleService.classify(created.getId(), type.getId(), "MEDIUM", null, otherUser.getId());
+        lifecycleService.transition(created.getId(), RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "MEDIUM", null), otherUser.getId());
 
-        assertThatThrownBy(() -> lifecycleService.assign(created.getId(), inactive.getId(), otherUser.getId()))
+        assertThatThrownBy(() -> lifecycleService.transition(created.getId(), RequestAction.ASSIGN,
+                TransitionArgs.assign(inactive.getId()), otherUser.getId()))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("inactive");
     }
@@ -148,14 +175,18 @@ class RequestLifecycleServiceTest {
         RequestType type = requestTypeRepository.save(RequestType.builder().code("T").name("T").build());
         Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
         Request created = lifecycleService.createRequest("Desc", type.getId(), channel.getId(), requester.getId(), null);
-        lifecycleService.classify(created.getId(), type.getId(), "MEDIUM", null, otherUser.getId());
-        lifecycleService.assign(created.getId(), assignee.getId(), otherUser.getId());
-        lifecycleService.attend(created.getId(), assignee.getId(), null);
-
-        assertThatThrownBy(() -> lifecycleService.close(created.getId(), "", otherUser.getId()))
+        lifecycleService.transition(created.getId(), RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "MEDIUM", null), otherUser.getId());
+        lifecycleService.transition(created.getId(), RequestAction.ASSIGN,
+                TransitionArgs.assign(assignee.getId()), otherUser.getId());
+        lifecycleService.transition(created.getId(), RequestAction.ATTEND, TransitionArgs.attend(null), assignee.getId());
+
+        assertThatThrownBy(() -> lifecycleService.transition(created.getId(), RequestAction.CLOSE,
+                TransitionArgs.close(""), otherUser.getId()))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Closure observation is required");
-        assertThatThrownBy(() -> lifecycleService.close(created.getId(), null, otherUser.getId()))
+        assertThatThrownBy(() -> lifecycleService.transition(created.getId(), RequestAction.CLOSE,
+                TransitionArgs.close(null), otherUser.getId()))
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
@@ -165,7 +196,8 @@ class RequestLifecycleServiceTest {
         Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
         Request created = lifecycleService.createRequest("Desc", type.getId(), channel.getId(), requester.getId(), null);
 
-        assertThatThrownBy(() -> lifecycleService.close(created.getId(), "obs", otherUser.getId()))
+        assertThatThrownBy(() -> lifecycleService.transition(created.getId(), RequestAction.CLOSE,
+                TransitionArgs.close("obs"), otherUser.getId()))
                 .isInstanceOf(InvalidStateTransitionException.class)
                 .hasMessageContaining("expected ATENDIDA");
     }
@@ -175,12 +207,15 @@ class RequestLifecycleServiceTest {
         RequestType type = requestTypeRepository.save(RequestType.builder().code("T").name("T").build());
         Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
         Request created = lifecycleService.createRequest("Desc", type.getId(), channel.getId(), requester.getId(), null);
-        lifecycleService.classify(created.getId(), type.getId(), "MEDIUM", null, otherUser.getId());
-        lifecycleService.assign(created.getId(), assignee.getId(), otherUser.getId());
-        lifecycleService.attend(created.getId(), assignee.getId(), null);
-        lifecycleService.close(created.getId(), "Done", otherUser.getId());
-
-        assertThatThrownBy(() -> lifecycleService.attend(created.getId(), assignee.getId(), null))
+        lifecycleService.transition(created.getId(), RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "MEDIUM", null), otherUser.getId());
+        lifecycleService.transition(created.getId(), RequestAction.ASSIGN,
+                TransitionArgs.assign(assignee.getId()), otherUser.getId());
+        lifecycleService.transition(created.getId(), RequestAction.ATTEND, TransitionArgs.attend(null), assignee.getId());
+        lifecycleService.transition(created.getId(), RequestAction.CLOSE, TransitionArgs.close("Done"), otherUser.getId());
+
+        assertThatThrownBy(() -> lifecycleService.transition(created.getId(), RequestAction.ATTEND,
+                TransitionArgs.attend(null), assignee.getId()))
                 .isInstanceOf(InvalidStateTransitionException.class)
                 .hasMessageContaining("closed");
     }
@@ -202,6 +237,189 @@ class RequestLifecycleServiceTest {
                 .hasMessageContaining("999999");
     }
 
+    @Test
+    void transitions_resolveReferenceDataWithoutQueries() {
+        RequestType type = requestTypeRepository.save(RequestType.builder().code("T").name("T").build());
+        Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
+        lifecycleService.createRequest("Warm-up", type.getId(), channel.getId(), requester.getId(), null);
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Request created = lifecycleService.createRequest("Desc", type.getId(), channel.getId(), requester.getId(), null);
+        lifecycleService.transition(created.getId(), RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "LOW", null), otherUser.getId());
+        entityManager.flush();
+
+        assertThat(statistics.getEntityStatistics(State.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Channel.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(RequestType.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void transition_checksStateWithoutLoadingIt() {
+        RequestType type = requestTypeRepository.save(RequestType.builder().code("T").name("T").build());
+        Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
+        Long id = lifecycleService.createRequest("Desc", type.getId(), channel.getId(), requester.getId(), null).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThatThrownBy(() -> lifecycleService.transition(id, RequestAction.ATTEND,
+                TransitionArgs.attend(null), assignee.getId()))
+                .isInstanceOf(InvalidStateTransitionException.class)
+                .hasMessage("Cannot attend: request is in state REGISTRADA, expected EN_ATENCION");
+        statistics.clear();
+        lifecycleService.transition(id, RequestAction.CLASSIFY, TransitionArgs.classify(type.getId(), "LOW", null), otherUser.getId());
+
+        assertThat(statistics.getEntityStatistics(State.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void assignAll_appliesValidItemsAndReportsTheRest() {
+        RequestType type = requestTypeRepository.save(RequestType.builder().code("CUPOS").name("Cupos").build());
+        Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
+        Long first = lifecycleService.createRequest("Cupo A", type.getId(), channel.getId(), requester.getId(), null).getId();
+        Long second = lifecycleService.createRequest("Cupo B", type.getId(), channel.getId(), requester.getId(), null).getId();
+        Long unclassified = lifecycleService.createRequest("Cupo C", type.getId(), channel.getId(), requester.getId(), null).getId();
+        lifecycleService.transitionAll(List.of(first, second), RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "HIGH", null), otherUser.getId());
+
+        BulkTransitionResult result = lifecycleService.transitionAll(List.of(first, second, unclassified, first, 999999L),
+                RequestAction.ASSIGN, TransitionArgs.assign(assignee.getId()), otherUser.getId());
+
+        assertThat(result.items()).extracting(BulkTransitionResult.Item::requestId)
+                .containsExactly(first, second, unclassified, 999999L);
+        assertThat(result.succeeded()).isEqualTo(2);
+        assertThat(result.items().get(0).stateCode()).isEqualTo("EN_ATENCION");
+        assertThat(result.items().get(2).error()).contains("expected CLASIFICADA");
+        assertThat(result.items().get(3).error()).isEqualTo("Request not found: 999999");
+        assertThat(lifecycleService.findRequestOrThrow(second).getAssignedTo().getId()).isEqualTo(assignee.getId());
+        assertThat(historyEntries(second)).extracting(HistoryEntry::getAction)
+                .containsExactlyInAnyOrder("REGISTERED", "CLASSIFIED", "ASSIGNED");
+        assertThat(historyEntries(unclassified)).hasSize(1);
+    }
+
+    @Test
+    void stats_followCreationsAndTransitions() {
+        RequestType type = requestTypeRepository.save(RequestType.builder().code("CUPOS").name("Cupos").build());
+        Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
+        RequestStatsDto before = counters.stats();
+
+        Long first = lifecycleService.createRequest("Cupo A", type.getId(), channel.getId(), requester.getId(), null).getId();
+        lifecycleService.createRequest("Cupo B", type.getId(), channel.getId(), requester.getId(), null);
+        lifecycleService.transition(first, RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "HIGH", null), otherUser.getId());
+        lifecycleService.transitionAll(List.of(first), RequestAction.ASSIGN,
+                TransitionArgs.assign(assignee.getId()), otherUser.getId());
+        RequestStatsDto after = counters.stats();
+
+        assertThat(after.getTotal() - before.getTotal()).isEqualTo(2);
+        assertThat(delta(before.getByState(), after.getByState(), "REGISTRADA")).isEqualTo(1);
+        assertThat(delta(before.getByState(), after.getByState(), "CLASIFICADA")).isZero();
+        assertThat(delta(before.getByState(), after.getByState(), "EN_ATENCION")).isEqualTo(1);
+        assertThat(delta(before.getByPriority(), after.getByPriority(), "HIGH")).isEqualTo(1);
+        assertThat(delta(before.getByRequestType(), after.getByRequestType(), "CUPOS")).isEqualTo(2);
+        assertThat(delta(before.getByAssignee(), after.getByAssignee(), "assignee@test.com")).isEqualTo(1);
+        assertThat(delta(before.getByAssignee(), after.getByAssignee(), "NONE")).isEqualTo(1);
+
+        counters.rebuild();
+        assertThat(counters.stats()).isEqualTo(after);
+    }
+
+    @Test
+    void queue_followsCreationsAndTransitions() {
+        RequestType type = requestTypeRepository.save(RequestType.builder().code("CUPOS").name("Cupos").build());
+        Channel channel = channelRepository.save(Channel.builder().code("C").name("C").build());
+        Long first = lifecycleService.createRequest("Cupo A", type.getId(), channel.getId(), requester.getId(),
+                "2026-01-01T10:00:00Z").getId();
+        Long second = lifecycleService.createRequest("Cupo B", type.getId(), channel.getId(), requester.getId(),
+                "2026-01-02T10:00:00Z").getId();
+        Long third = lifecycleService.createRequest("Cupo C", type.getId(), channel.getId(), requester.getId(),
+                "2026-01-03T10:00:00Z").getId();
+        for (Long id : List.of(first, third)) {
+            lifecycleService.transition(id, RequestAction.CLASSIFY,
+                    TransitionArgs.classify(type.getId(), "HIGH", null), otherUser.getId());
+        }
+        lifecycleService.transitionAll(List.of(first, third), RequestAction.ASSIGN,
+                TransitionArgs.assign(assignee.getId()), otherUser.getId());
+
+        RequestQueuePage page = queue.page("EN_ATENCION", null, null, assignee.getId(), null, null, 1);
+        assertThat(page.items()).extracting(RequestQueueItem::getRequestId).containsExactly(third);
+        assertThat(page.items().get(0).getAssignedToName()).isEqualTo(assignee.getName());
+        assertThat(page.items().get(0).getRequestTypeCode()).isEqualTo("CUPOS");
+        assertThat(page.items().get(0).getPriority()).isEqualTo(Priority.HIGH);
+        RequestQueuePage next = queue.page("EN_ATENCION", null, null, assignee.getId(), null, page.next(), 1);
+        assertThat(next.items()).extracting(RequestQueueItem::getRequestId).containsExactly(first);
+        assertThat(next.next()).isNull();
+        assertThat(queue.page("REGISTRADA", type.getId(), null, null, requester.getId(), null, 10).items())
+                .extracting(RequestQueueItem::getRequestId).containsExactly(second);
+
+        entityManager.flush();
+        queue.rebuild();
+        assertThat(queue.page("EN_ATENCION", null, "HIGH", assignee.getId(), null, null, 10).items())
+                .extracting(RequestQueueItem::getRequestId).containsExactly(third, first);
+    }
+
+    @Test
+    void createRequest_flagsNearDuplicateOfSameRequester() {
+        RequestType type = requestTypeRepository.save(RequestType.builder().code("CUPOS").name("Cupos").build());
+        Channel csu = channelRepository.save(Channel.builder().code("CSU").name("CSU").build());
+        Channel email = channelRepository.save(Channel.builder().code("EMAIL").name("Email").build());
+        String text = "Solicito cupo en Física II, grupo 3, para el semestre 2026-1 porque la materia es prerrequisito";
+
+        lifecycleService.createRequest(text, type.getId(), csu.getId(), requester.getId(), "2025-06-01T10:00:00Z");
+        Long original = lifecycleService.createRequest(text, type.getId(), csu.getId(), requester.getId(),
+                "2026-01-10T10:00:00Z").getId();
+        Request again = lifecycleService.createRequest(
+                "Solicito cupo en Física II grupo 3 para el semestre 2026-1, la materia es prerrequisito",
+                type.getId(), email.getId(), requester.getId(), "2026-01-12T10:00:00Z");
+        Request otherRequester = lifecycleService.createRequest(text, type.getId(), email.getId(),
+                otherUser.getId(), "2026-01-12T11:00:00Z");
+        Request unrelated = lifecycleService.createRequest("Homologación de Cálculo I cursado en otra universidad",
+                type.getId(), email.getId(), requester.getId(), "2026-01-12T12:00:00Z");
+
+        assertThat(again.getPossibleDuplicateOfId()).isEqualTo(original);
+        assertThat(otherRequester.getPossibleDuplicateOfId()).isNull();
+        assertThat(unrelated.getPossibleDuplicateOfId()).isNull();
+        assertThat(lifecycleService.findRequestOrThrow(original).getPossibleDuplicateOfId()).isNull();
+
+        // the flag goes into the INSERT: no follow-up UPDATE bumping the version of the new row
+        entityManager.flush();
+        entityManager.clear();
+        Request stored = lifecycleService.findRequestOrThrow(again.getId());
+        assertThat(stored.getPossibleDuplicateOfId()).isEqualTo(original);
+        assertThat(stored.getVersion()).isZero();
+    }
+
+    @Test
+    void forEachByFilters_readsEveryChunkInListOrder() {
+        RequestType type = requestTypeRepository.save(RequestType.builder().code("EXPORT").name("Export").build());
+        Channel channel = channelRepository.save(Channel.builder().code("EXP").name("EXP").build());
+        State registrada = stateRepository.findByCode("REGISTRADA").orElseThrow();
+        Instant at = Instant.parse("2024-01-01T00:00:00Z");
+        List<Request> rows = new ArrayList<>();
+        for (int i = 0; i < RequestLifecycleServiceImpl.STREAM_CHUNK_SIZE + 20; i++) {
+            // equal timestamps in pairs: the keyset has to break ties by id
+            rows.add(Request.builder().description("Export " + i).registeredAt(at.plusSeconds(i / 2))
+                    .requestType(type).channel(channel).state(registrada).requestedBy(requester).build());
+        }
+        requestRepository.saveAll(rows);
+        entityManager.flush();
+
+        List<Long> listed = lifecycleService.listByFilters(null, type.getId(), null, null, null).stream()
+                .map(Request::getId).toList();
+        List<Long> streamed = new ArrayList<>();
+        lifecycleService.forEachByFilters(null, type.getId(), null, null, null, r -> streamed.add(r.getId()));
+
+        assertThat(listed).hasSize(rows.size());
+        assertThat(streamed).isEqualTo(listed);
+    }
+
+    private static long delta(Map<String, Long> before, Map<String, Long> after, String key) {
+        return after.getOrDefault(key, 0L) - before.getOrDefault(key, 0L);
+    }
+
     private List<HistoryEntry> historyEntries(Long requestId) {
         return historyEntryRepository.findByRequest_IdOrderByOccurredAtDesc(requestId);
     }
@@ -0,0 +1,99 @@
+package com.avanzada.service;
+
+import com.avanzada.config.SearchProperties;
+import com.avanzada.entity.*;
+import com.avanzada.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RequestSearchTest {
+
+    @Autowired
+    private RequestSearch search;
+
+    @Autowired
+    private SearchProperties properties;
+
+    @Autowired
+    private RequestLifecycleService lifecycleService;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private RequestTypeRepository requestTypeRepository;
+
+    @Autowired
+    private ChannelRepository channelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @TempDir
+    Path dir;
+
+    private RequestType type;
+    private Channel channel;
+    private User requester;
+
+    @BeforeEach
+    void setUp() {
+        properties.setSegmentFile(dir.resolve("requests.seg").toString());
+        String[] codes = {"REGISTRADA", "CLASIFICADA", "EN_ATENCION", "ATENDIDA", "CERRADA"};
+        for (int i = 0; i < codes.length; i++) {
+            stateRepository.save(State.builder().code(codes[i]).name(codes[i]).displayOrder(i + 1).build());
+        }
+        type = requestTypeRepository.save(RequestType.builder().code("HOMOLOG").name("Homologación").build());
+        channel = channelRepository.save(Channel.builder().code("CSU").name("CSU").build());
+        requester = userRepository.save(User.builder().identifier("student@search.test").name("Student").active(true).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        properties.setSegmentFile("");
+        search.rebuild();
+    }
+
+    @Test
+    void load_catchesUpFromSavedSegment() {
+        Long first = lifecycleService.createRequest("Homologación de Cálculo I", type.getId(), channel.getId(),
+                requester.getId(), null).getId();
+        entityManager.flush();
+        search.rebuild();
+        search.save();
+        assertThat(Files.exists(dir.resolve("requests.seg"))).isTrue();
+
+        Long second = lifecycleService.createRequest("Cupo en Física", type.getId(), channel.getId(),
+                requester.getId(), null).getId();
+        lifecycleService.transition(first, RequestAction.CLASSIFY,
+                TransitionArgs.classify(type.getId(), "HIGH", "Materias del pensum anterior"), requester.getId());
+        entityManager.flush();
+        search.load();
+
+        assertThat(search.search("homologacion", null, 0, 10).hits())
+                .extracting(RequestSearchResult.Hit::requestId).containsExactly(first);
+        assertThat(search.search("física", requester.getId(), 0, 10).hits())
+                .extracting(RequestSearchResult.Hit::requestId).containsExactly(second);
+        assertThat(search.search("pensum", null, 0, 10).hits())
+                .extracting(RequestSearchResult.Hit::requestId).containsExactly(first);
+        assertThat(search.search("física", requester.getId() + 1, 0, 10).total()).isZero();
+    }
+}
@@ -0,0 +1,196 @@
+package com.avanzada.service;
+
+import com.avanzada.config.AnalyticsProperties;
+import com.avanzada.dto.SlaReportDto;
+import com.avanzada.entity.*;
+import com.avanzada.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SlaAnalyticsTest {
+
+    @Autowired
+    private SlaAnalytics slaAnalytics;
+
+    @Autowired
+    private AnalyticsProperties properties;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private HistoryEntryRepository historyEntryRepository;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private RequestTypeRepository requestTypeRepository;
+
+    @Autowired
+    private ChannelRepository channelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RequestType type;
+    private Channel channel;
+    private State registrada;
+    private User staff;
+
+    @BeforeEach
+    void setUp() {
+        slaAnalytics.reset();
+        registrada = stateRepository.save(State.builder().code("REGISTRADA").name("Registrada").displayOrder(1).build());
+        stateRepository.save(State.builder().code("CLASIFICADA").name("Clasificada").displayOrder(2).build());
+        stateRepository.save(State.builder().code("EN_ATENCION").name("En atención").displayOrder(3).build());
+        stateRepository.save(State.builder().code("ATENDIDA").name("Atendida").displayOrder(4).build());
+        stateRepository.save(State.builder().code("CERRADA").name("Cerrada").displayOrder(5).build());
+        type = requestTypeRepository.save(RequestType.builder().code("HOMOLOG").name("Homologación").build());
+        channel = channelRepository.save(Channel.builder().code("CSU").name("CSU").build());
+        staff = userRepository.save(User.builder().identifier("staff@sla.test").name("Staff").active(true).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        properties.setRescanIds(new AnalyticsProperties().getRescanIds());
+        slaAnalytics.reset();
+    }
+
+    @Test
+    void report_computesDwellTimeToCloseAndOverdue() {
+        Instant t0 = Instant.now().minus(Duration.ofDays(10));
+        Request closed = request(t0);
+        history(closed, "REGISTERED", t0);
+        history(closed, "CLASSIFIED", t0.plus(Duration.ofHours(1)));
+        history(closed, "ASSIGNED", t0.plus(Duration.ofHours(3)));
+        history(closed, "ATTENDED", t0.plus(Duration.ofHours(4)));
+        history(closed, "CLOSED", t0.plus(Duration.ofHours(10)));
+        Request stale = request(Instant.now().minus(Duration.ofHours(100)));
+        history(stale, "REGISTERED", stale.getRegisteredAt());
+        Request recent = request(Instant.now().minus(Duration.ofHours(1)));
+        history(recent, "REGISTERED", recent.getRegisteredAt());
+        entityManager.flush();
+
+        SlaReportDto report = slaAnalytics.report();
+
+        assertThat(report.getHistoryEntriesProcessed()).isEqualTo(7);
+        assertThat(report.getDwellByState()).extracting(SlaReportDto.StateDwell::getState)
+                .containsExactly("REGISTRADA", "CLASIFICADA", "EN_ATENCION", "ATENDIDA");
+        assertThat(report.getDwellByState().get(1).getDurations().getMeanSeconds()).isEqualTo(7200);
+        assertThat(report.getTimeToClose().getCount()).isEqualTo(1);
+        assertThat((double) report.getTimeToClose().getMedianSeconds()).isCloseTo(36_000, within(1_800.0));
+        assertThat(report.getOpenRequests()).isEqualTo(2);
+        assertThat(report.getOverdue()).isEqualTo(1);
+        assertThat(report.getOverdueByRequestType()).containsEntry("HOMOLOG", 1L);
+        assertThat(report.getOverdueByAssignee()).containsEntry("NONE", 1L);
+    }
+
+    @Test
+    void refresh_readsOnlyNewHistory() {
+        Request request = request(Instant.now().minus(Duration.ofHours(2)));
+        history(request, "REGISTERED", request.getRegisteredAt());
+        entityManager.flush();
+        assertThat(slaAnalytics.report().getHistoryEntriesProcessed()).isEqualTo(1);
+
+        history(request, "CLASSIFIED", Instant.now().minus(Duration.ofHours(1)));
+        entityManager.flush();
+        slaAnalytics.refresh();
+
+        SlaReportDto report = slaAnalytics.report();
+        assertThat(report.getHistoryEntriesProcessed()).isEqualTo(2);
+        assertThat(report.getDwellByState()).singleElement()
+                .satisfies(d -> assertThat(d.getDurations().getMeanSeconds()).isEqualTo(3600));
+    }
+
+    @Test
+    void refresh_picksUpHistoryCommittedAfterHigherIds() {
+        Instant t0 = Instant.now().minus(Duration.ofHours(3));
+        Request slow = request(t0);
+        history(slow, "REGISTERED", t0);
+        // id handed out to a transaction that commits only after the refresh below
+        HistoryEntry pending = history(slow, "CLASSIFIED", t0.plus(Duration.ofHours(1)));
+        entityManager.flush();
+        historyEntryRepository.delete(pending);
+        Request fast = request(Instant.now().minus(Duration.ofHours(1)));
+        history(fast, "REGISTERED", fast.getRegisteredAt());
+        entityManager.flush();
+        assertThat(slaAnalytics.report().getHistoryEntriesProcessed()).isEqualTo(2);
+
+        jdbcTemplate.update("INSERT INTO history_entry (id, request_id, occurred_at, action, user_id) VALUES (?, ?, ?, ?, ?)",
+                pending.getId(), slow.getId(), Timestamp.from(pending.getOccurredAt()), "CLASSIFIED", staff.getId());
+        slaAnalytics.refresh();
+        slaAnalytics.refresh();
+
+        SlaReportDto report = slaAnalytics.report();
+        assertThat(report.getHistoryEntriesProcessed()).isEqualTo(3);
+        assertThat(report.getDwellByState()).singleElement()
+                .satisfies(d -> assertThat(d.getDurations().getMeanSeconds()).isEqualTo(3600));
+    }
+
+    @Test
+    void refresh_countsHistoryCommittedBelowTheRescanWindow() {
+        properties.setRescanIds(1);
+        Instant t0 = Instant.now().minus(Duration.ofHours(3));
+        Request slow = request(t0);
+        history(slow, "REGISTERED", t0);
+        HistoryEntry pending = history(slow, "CLASSIFIED", t0.plus(Duration.ofHours(1)));
+        entityManager.flush();
+        historyEntryRepository.delete(pending);
+        Request fast = request(Instant.now().minus(Duration.ofHours(1)));
+        history(fast, "REGISTERED", fast.getRegisteredAt());
+        entityManager.flush();
+        assertThat(slaAnalytics.report().getHistoryEntriesMissed()).isZero();
+
+        jdbcTemplate.update("INSERT INTO history_entry (id, request_id, occurred_at, action, user_id) VALUES (?, ?, ?, ?, ?)",
+                pending.getId(), slow.getId(), Timestamp.from(pending.getOccurredAt()), "CLASSIFIED", staff.getId());
+        slaAnalytics.refresh();
+
+        SlaReportDto report = slaAnalytics.report();
+        assertThat(report.getHistoryEntriesProcessed()).isEqualTo(2);
+        assertThat(report.getHistoryEntriesMissed()).isEqualTo(1);
+    }
+
+    private Request request(Instant registeredAt) {
+        return requestRepository.save(Request.builder()
+                .description("SLA")
+                .registeredAt(registeredAt)
+                .requestType(type)
+                .channel(channel)
+                .state(registrada)
+                .requestedBy(staff)
+                .build());
+    }
+
+    private HistoryEntry history(Request request, String action, Instant at) {
+        return historyEntryRepository.save(HistoryEntry.builder()
+                .request(request)
+                .occurredAt(at)
+                .action(action)
+                .user(staff)
+                .build());
+    }
+}
@@ -0,0 +1,260 @@
+package com.avanzada.service;
+
+import com.avanzada.config.AiProperties;
+import com.avanzada.config.SummaryBatchProperties;
+import com.avanzada.dto.SummaryResponseDto;
+import com.avanzada.entity.*;
+import com.avanzada.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: the job reads requests on its own threads, so the test data must be committed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SummaryBatchJobTest {
+
+    @Autowired
+    private SummaryBatchJob job;
+
+    @Autowired
+    private SummaryBatchProperties properties;
+
+    @Autowired
+    private AiProperties aiProperties;
+
+    @Autowired
+    private AiCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private AiService aiService;
+
+    @Autowired
+    private RequestLifecycleService lifecycleService;
+
+    @Autowired
+    private RequestSummaryRepository summaryRepository;
+
+    @Autowired
+    private SummaryBatchSkipRepository skipRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private HistoryEntryRepository historyEntryRepository;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private RequestTypeRepository requestTypeRepository;
+
+    @Autowired
+    private ChannelRepository channelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private RequestType type;
+    private Channel channel;
+    private State registrada;
+    private State cerrada;
+    private User staff;
+    private String defaultEndpoint;
+
+    @BeforeEach
+    void setUp() {
+        defaultEndpoint = aiProperties.getEndpoint();
+        registrada = stateRepository.save(State.builder().code("REGISTRADA").name("Registrada").displayOrder(1).build());
+        cerrada = stateRepository.save(State.builder().code("CERRADA").name("Cerrada").displayOrder(5).build());
+        type = requestTypeRepository.save(RequestType.builder().code("CUPOS").name("Cupos").build());
+        channel = channelRepository.save(Channel.builder().code("CSU").name("CSU").build());
+        staff = userRepository.save(User.builder().identifier("staff@batch.test").name("Staff").active(true).build());
+        properties.setBackoffMillis(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aiProperties.setEnabled(false);
+        aiProperties.setApiKey("");
+        aiProperties.setEndpoint(defaultEndpoint);
+        circuitBreaker.reset();
+        SummaryBatchProperties defaults = new SummaryBatchProperties();
+        properties.setRequestsPerCall(defaults.getRequestsPerCall());
+        properties.setMaxAttempts(defaults.getMaxAttempts());
+        properties.setBackoffMillis(defaults.getBackoffMillis());
+        skipRepository.deleteAll();
+        summaryRepository.deleteAll();
+        historyEntryRepository.deleteAll();
+        requestRepository.deleteAll();
+        userRepository.deleteAll();
+        requestTypeRepository.deleteAll();
+        channelRepository.deleteAll();
+        stateRepository.deleteAll();
+    }
+
+    @Test
+    void run_packsClosedRequestsIntoOneCallAndSkipsStoredSummaries() throws Exception {
+        Request first = request(cerrada, "CLOSED");
+        Request second = request(cerrada, "CLOSED");
+        Request third = request(cerrada, "CLOSED");
+        Request open = request(registrada, "REGISTERED");
+        properties.setRequestsPerCall(3);
+
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+            // the packed reply leaves out the third request, which then gets a call of its own
+            stub.respondWith(prompt -> prompt.contains("#ID:")
+                    ? "#" + first.getId() + ": First summary.\n#" + second.getId() + ": Second summary."
+                    : "Single summary.");
+
+            assertThat(job.run()).isEqualTo(3);
+            assertThat(stub.calls()).isEqualTo(2);
+            assertThat(summaryRepository.findById(first.getId()).orElseThrow().getSummary()).isEqualTo("First summary.");
+            assertThat(summaryRepository.findById(third.getId()).orElseThrow().getSummary()).isEqualTo("Single summary.");
+            assertThat(summaryRepository.findById(open.getId())).isEmpty();
+
+            SummaryResponseDto served = aiService.generateSummaryAsync(
+                    lifecycleService.findRequestDetailOrThrow(second.getId())).get(5, TimeUnit.SECONDS);
+            assertThat(served.getSummary()).isEqualTo("Second summary.");
+            assertThat(served.getFromAi()).isTrue();
+
+            assertThat(job.run()).isZero();
+            assertThat(stub.calls()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void run_retriesFailedCallsAndLeavesRequestsForNextRunWhenTheyKeepFailing() throws Exception {
+        Request closed = request(cerrada, "CLOSED");
+
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+            properties.setMaxAttempts(1);
+            stub.failWith(500);
+
+            assertThat(job.run()).isZero();
+            assertThat(summaryRepository.findById(closed.getId())).isEmpty();
+
+            properties.setMaxAttempts(3);
+            stub.respondWith(prompt -> {
+                stub.failWith(stub.calls() == 2 ? 500 : 200);
+                return "Recovered summary.";
+            });
+
+            assertThat(job.run()).isEqualTo(1);
+            assertThat(stub.calls()).isEqualTo(3);
+            assertThat(summaryRepository.findById(closed.getId()).orElseThrow().getSummary())
+                    .isEqualTo("Recovered summary.");
+            assertThat(skipRepository.count()).isZero();
+        }
+    }
+
+    @Test
+    void run_summarizesRequestClosedAfterHigherIdsWereSummarized() throws Exception {
+        Request late = request(registrada, "REGISTERED");
+        Request early = request(cerrada, "CLOSED");
+
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+            stub.respondWith(prompt -> "Summary.");
+            assertThat(job.run()).isEqualTo(1);
+            assertThat(summaryRepository.findById(early.getId())).isPresent();
+
+            // closed (and committed) only after a run got past its id
+            late.setState(cerrada);
+            requestRepository.save(late);
+            history(late, "CLOSED");
+
+            assertThat(job.run()).isEqualTo(1);
+            assertThat(summaryRepository.findById(late.getId())).isPresent();
+            assertThat(stub.calls()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void run_recordsRequestsLeftWithoutSummaryUntilTheyChange() throws Exception {
+        Request closed = request(cerrada, "CLOSED");
+
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+            stub.respondWith(prompt -> "");
+
+            assertThat(job.run()).isZero();
+            assertThat(skipRepository.findById(closed.getId())).isPresent();
+            assertThat(job.run()).isZero();
+            assertThat(stub.calls()).isEqualTo(1);
+
+            stub.respondWith(prompt -> "Summary after change.");
+            Request changed = requestRepository.findById(closed.getId()).orElseThrow();
+            changed.setDescription("Cupo en Física II, grupo 2");
+            requestRepository.save(changed);
+
+            assertThat(job.run()).isEqualTo(1);
+            assertThat(summaryRepository.findById(closed.getId()).orElseThrow().getSummary())
+                    .isEqualTo("Summary after change.");
+        }
+    }
+
+    @Test
+    void run_clearsRequestsThatAlreadyHaveCurrentSummaryWithoutCalling() throws Exception {
+        Request closed = request(cerrada, "CLOSED");
+        summaryRepository.save(RequestSummary.builder()
+                .requestId(closed.getId())
+                .sourceVersion(closed.getUpdatedAt())
+                .summary("On-demand summary.")
+                .fromAi(true)
+                .generatedAt(Instant.now())
+                .build());
+
+        try (LlmStubServer stub = new LlmStubServer()) {
+            enableAi(stub);
+            stub.respondWith(prompt -> "Batch summary.");
+
+            assertThat(job.run()).isZero();
+            assertThat(stub.calls()).isZero();
+            assertThat(requestRepository.findById(closed.getId()).orElseThrow().getSummaryPending()).isFalse();
+            assertThat(summaryRepository.findById(closed.getId()).orElseThrow().getSummary())
+                    .isEqualTo("On-demand summary.");
+        }
+    }
+
+    private void enableAi(LlmStubServer stub) {
+        aiProperties.setEnabled(true);
+        aiProperties.setApiKey("test-key");
+        aiProperties.setEndpoint(stub.endpoint());
+    }
+
+    private Request request(State state, String lastAction) {
+        Request request = requestRepository.save(Request.builder()
+                .description("Cupo en Física II")
+                .registeredAt(Instant.now())
+                .requestType(type)
+                .channel(channel)
+                .state(state)
+                .requestedBy(staff)
+                .build());
+        history(request, lastAction);
+        return request;
+    }
+
+    private void history(Request request, String action) {
+        historyEntryRepository.save(HistoryEntry.builder()
+                .request(request)
+                .occurredAt(Instant.now())
+                .action(action)
+                .user(staff)
+                .build());
+    }
+}